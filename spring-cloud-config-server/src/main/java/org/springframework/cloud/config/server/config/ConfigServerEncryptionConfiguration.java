@@ -17,9 +17,11 @@
 package org.springframework.cloud.config.server.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cloud.config.server.encryption.EncryptionController;
 import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -41,6 +43,10 @@ public class ConfigServerEncryptionConfiguration {
 	@Autowired
 	private Environment environment;
 
+	@Autowired(required = false)
+	@Qualifier("encryptionTaskRunner")
+	private ConcurrentTaskRunner encryptionTaskRunner;
+
 	@Bean
 	public EncryptionController encryptionController() {
 		EncryptionController controller = new EncryptionController(this.encryptor);
@@ -50,6 +56,7 @@ public class ConfigServerEncryptionConfiguration {
 			.bind("spring.profiles.validate", Boolean.class)
 			.orElse(true);
 		controller.setValidateProfiles(validateProfiles);
+		controller.setTaskRunner(this.encryptionTaskRunner);
 		return controller;
 	}
 
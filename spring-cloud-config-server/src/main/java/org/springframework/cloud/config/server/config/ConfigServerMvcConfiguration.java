@@ -26,6 +26,7 @@ import tools.jackson.databind.json.JsonMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
@@ -33,6 +34,9 @@ import org.springframework.cloud.config.server.encryption.ResourceEncryptor;
 import org.springframework.cloud.config.server.environment.EnvironmentController;
 import org.springframework.cloud.config.server.environment.EnvironmentEncryptorEnvironmentRepository;
 import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.EnvironmentSnapshotStore;
+import org.springframework.cloud.config.server.environment.ObservationEnvironmentRepositoryWrapper;
+import org.springframework.cloud.config.server.environment.SnapshotEnvironmentRepository;
 import org.springframework.cloud.config.server.resource.ResourceController;
 import org.springframework.cloud.config.server.resource.ResourceControllerAdvice;
 import org.springframework.cloud.config.server.resource.ResourceRepository;
@@ -60,6 +64,22 @@ public class ConfigServerMvcConfiguration implements WebMvcConfigurer {
 		configurer.mediaType("yaml", MediaType.valueOf("text/yaml"));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(ConfigServerProperties.PREFIX + ".snapshot.enabled")
+	public EnvironmentSnapshotStore environmentSnapshotStore(ConfigServerProperties server) {
+		ConfigServerProperties.Snapshot snapshot = server.getSnapshot();
+		if (snapshot.getBasedir() == null) {
+			throw new IllegalStateException(ConfigServerProperties.PREFIX
+					+ ".snapshot.basedir must be set when environment snapshots are enabled");
+		}
+		EnvironmentSnapshotStore store = new EnvironmentSnapshotStore(snapshot.getBasedir());
+		store.setCompactThreshold(snapshot.getCompactThreshold());
+		store.setRefreshConcurrency(snapshot.getRefreshConcurrency());
+		store.setMaxEntries(snapshot.getMaxEntries());
+		return store;
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@ConditionalOnMissingBean(org.springframework.cloud.context.scope.refresh.RefreshScope.class)
 	static class EnvironmentControllerConfiguration {
@@ -76,6 +96,11 @@ public class ConfigServerMvcConfiguration implements WebMvcConfigurer {
 		@Autowired(required = false)
 		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
 
+		@Autowired(required = false)
+		private EnvironmentSnapshotStore snapshotStore;
+
+		private SnapshotEnvironmentRepository snapshotRepository;
+
 		private boolean validateProfiles = true;
 
 		EnvironmentControllerConfiguration(Environment environment) {
@@ -108,6 +133,7 @@ public class ConfigServerMvcConfiguration implements WebMvcConfigurer {
 					this.resourceEncryptorMap);
 			controller.setEncryptEnabled(server.getEncrypt().isEnabled());
 			controller.setPlainTextEncryptEnabled(server.getEncrypt().isPlainTextEncrypt());
+			controller.setPlainTextCacheSize(server.getPlainTextCacheSize());
 			controller.setValidateProfiles(this.validateProfiles);
 			return controller;
 		}
@@ -119,12 +145,34 @@ public class ConfigServerMvcConfiguration implements WebMvcConfigurer {
 		}
 
 		private EnvironmentRepository encrypted(EnvironmentRepository envRepository, ConfigServerProperties server) {
+			ObservationRegistry observationRegistry = this.observationRegistry;
+			if (this.snapshotStore != null) {
+				envRepository = snapshot(envRepository);
+				observationRegistry = ObservationRegistry.NOOP;
+			}
 			EnvironmentEncryptorEnvironmentRepository encrypted = new EnvironmentEncryptorEnvironmentRepository(
-					envRepository, this.environmentEncryptors, this.observationRegistry);
+					envRepository, this.environmentEncryptors, observationRegistry);
 			encrypted.setOverrides(server.getOverrides());
 			return encrypted;
 		}
 
+		/**
+		 * Wraps the repository so that the environments it returns are recorded in the
+		 * snapshot store. The same wrapper is shared by all controllers, so that a key is
+		 * only refreshed once after a restart.
+		 */
+		private synchronized EnvironmentRepository snapshot(EnvironmentRepository envRepository) {
+			if (this.snapshotRepository == null) {
+				// snapshot the environment before decryption, so that {cipher} values stay
+				// encrypted; secrets that the backend returns in plain text (e.g. Vault or
+				// JDBC) are persisted as they are
+				this.snapshotRepository = new SnapshotEnvironmentRepository(
+						ObservationEnvironmentRepositoryWrapper.wrap(this.observationRegistry, envRepository),
+						this.snapshotStore);
+			}
+			return this.snapshotRepository;
+		}
+
 	}
 
 	@Configuration(proxyBeanMethods = false)
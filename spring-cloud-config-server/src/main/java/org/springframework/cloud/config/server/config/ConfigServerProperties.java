@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.config;
 
+import java.io.File;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -103,12 +105,25 @@ public class ConfigServerProperties {
 	 */
 	private boolean reverseLocationOrder = false;
 
+	/**
+	 * Maximum number of rendered plain text resources to keep in memory (0 disables the
+	 * cache). Only resources of commit-versioned repositories (git, SVN) are cached.
+	 * Cached texts may contain decrypted values.
+	 */
+	private int plainTextCacheSize = 0;
+
 	/**
 	 * Decryption configuration for when server handles encrypted properties before
 	 * sending them to clients.
 	 */
 	private Encrypt encrypt = new Encrypt();
 
+	/**
+	 * Configuration of the persistent snapshot of served environments, used to answer
+	 * requests immediately after a restart.
+	 */
+	private Snapshot snapshot = new Snapshot();
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
@@ -121,6 +136,10 @@ public class ConfigServerProperties {
 		return this.encrypt;
 	}
 
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
 	public String getDefaultLabel() {
 		return this.defaultLabel;
 	}
@@ -201,6 +220,14 @@ public class ConfigServerProperties {
 		this.reverseLocationOrder = reverseLocationOrder;
 	}
 
+	public int getPlainTextCacheSize() {
+		return this.plainTextCacheSize;
+	}
+
+	public void setPlainTextCacheSize(int plainTextCacheSize) {
+		this.plainTextCacheSize = plainTextCacheSize;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringCreator(this).append("enabled", enabled)
@@ -215,6 +242,8 @@ public class ConfigServerProperties {
 			.append("failOnCompositeError", failOnCompositeError)
 			.append("encrypt", encrypt)
 			.append("reverseLocationOrder", reverseLocationOrder)
+			.append("plainTextCacheSize", plainTextCacheSize)
+			.append("snapshot", snapshot)
 			.toString();
 
 	}
@@ -235,6 +264,24 @@ public class ConfigServerProperties {
 		 */
 		private boolean plainTextEncrypt = false;
 
+		/**
+		 * Maximum number of values decrypted, encrypted or read from Vault at the same
+		 * time, shared by all requests. With the default of 1 the work is done one item
+		 * after another on the request thread.
+		 */
+		private int concurrency = 1;
+
+		/**
+		 * Cache of decrypted values.
+		 */
+		private final Cache cache = new Cache();
+
+		/**
+		 * Time after which an encryptor for a non-default key store alias or secret is
+		 * created again. Zero keeps the encryptors until the server is restarted.
+		 */
+		private Duration encryptorCacheTtl = Duration.ZERO;
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -251,14 +298,165 @@ public class ConfigServerProperties {
 			this.plainTextEncrypt = plainTextEncrypt;
 		}
 
+		public int getConcurrency() {
+			return this.concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+		public Cache getCache() {
+			return this.cache;
+		}
+
+		public Duration getEncryptorCacheTtl() {
+			return this.encryptorCacheTtl;
+		}
+
+		public void setEncryptorCacheTtl(Duration encryptorCacheTtl) {
+			this.encryptorCacheTtl = encryptorCacheTtl;
+		}
+
 		@Override
 		public String toString() {
 			return new ToStringCreator(this).append("enabled", enabled)
 				.append("plainTextEncrypt", plainTextEncrypt)
+				.append("concurrency", concurrency)
+				.append("cache", cache)
+				.append("encryptorCacheTtl", encryptorCacheTtl)
 				.toString();
 
 		}
 
+		/**
+		 * Settings of the cache of decrypted values.
+		 */
+		public static class Cache {
+
+			/**
+			 * Maximum number of decrypted values to cache. Zero disables the cache.
+			 */
+			private int maxSize = 0;
+
+			/**
+			 * Time after which a cached decrypted value expires.
+			 */
+			private Duration ttl = Duration.ofMinutes(10);
+
+			public int getMaxSize() {
+				return this.maxSize;
+			}
+
+			public void setMaxSize(int maxSize) {
+				this.maxSize = maxSize;
+			}
+
+			public Duration getTtl() {
+				return this.ttl;
+			}
+
+			public void setTtl(Duration ttl) {
+				this.ttl = ttl;
+			}
+
+			@Override
+			public String toString() {
+				return new ToStringCreator(this).append("maxSize", maxSize).append("ttl", ttl).toString();
+			}
+
+		}
+
+	}
+
+	/**
+	 * Environment snapshot properties.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Flag to indicate that the last environment served for each application, profile
+		 * and label should be persisted and used to answer requests immediately after a
+		 * restart, while the repository is refreshed in the background.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Base directory for the snapshot log, required when snapshots are enabled. It
+		 * must survive restarts. The log holds the environments as returned by the
+		 * backend, including any secrets, so the directory should only be readable by
+		 * the server user.
+		 */
+		private File basedir;
+
+		/**
+		 * Number of records in the snapshot log after which superseded records are
+		 * compacted away.
+		 */
+		private int compactThreshold = 1000;
+
+		/**
+		 * Maximum number of snapshots refreshed from the backend at the same time after a
+		 * restart.
+		 */
+		private int refreshConcurrency = 2;
+
+		/**
+		 * Maximum number of (application, profiles, label) keys kept in the snapshot log.
+		 * The least recently used keys are evicted beyond that.
+		 */
+		private int maxEntries = 1000;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public File getBasedir() {
+			return this.basedir;
+		}
+
+		public void setBasedir(File basedir) {
+			this.basedir = basedir;
+		}
+
+		public int getCompactThreshold() {
+			return this.compactThreshold;
+		}
+
+		public void setCompactThreshold(int compactThreshold) {
+			this.compactThreshold = compactThreshold;
+		}
+
+		public int getRefreshConcurrency() {
+			return this.refreshConcurrency;
+		}
+
+		public void setRefreshConcurrency(int refreshConcurrency) {
+			this.refreshConcurrency = refreshConcurrency;
+		}
+
+		public int getMaxEntries() {
+			return this.maxEntries;
+		}
+
+		public void setMaxEntries(int maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		public String toString() {
+			return new ToStringCreator(this).append("enabled", enabled)
+				.append("basedir", basedir)
+				.append("compactThreshold", compactThreshold)
+				.append("refreshConcurrency", refreshConcurrency)
+				.append("maxEntries", maxEntries)
+				.toString();
+		}
+
 	}
 
 }
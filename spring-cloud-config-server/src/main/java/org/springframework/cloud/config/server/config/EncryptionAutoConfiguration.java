@@ -16,16 +16,26 @@
 
 package org.springframework.cloud.config.server.config;
 
+import java.util.Objects;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.config.server.encryption.CipherEnvironmentEncryptor;
+import org.springframework.cloud.config.server.encryption.DecryptedValueCache;
+import org.springframework.cloud.config.server.encryption.DecryptedValueCacheMeterBinder;
 import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
 import org.springframework.cloud.config.server.encryption.SingleTextEncryptorLocator;
 import org.springframework.cloud.config.server.encryption.TextEncryptorLocator;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
@@ -43,6 +53,7 @@ import org.springframework.security.crypto.encrypt.TextEncryptor;
  */
 @Configuration(proxyBeanMethods = false)
 @AutoConfigureAfter(DefaultTextEncryptionAutoConfiguration.class)
+@EnableConfigurationProperties(ConfigServerProperties.class)
 public class EncryptionAutoConfiguration {
 
 	@Value("${spring.cloud.config.server.encrypt.prefixInvalidProperties:${spring.cloud.config.server.encrypt.prefix-invalid-properties:true}}")
@@ -55,18 +66,52 @@ public class EncryptionAutoConfiguration {
 		return new SingleTextEncryptorLocator(encryptor);
 	}
 
+	/**
+	 * Runs the items of concurrent decryption, batch encryption and Vault reads. It is
+	 * shared so that {@code spring.cloud.config.server.encrypt.concurrency} bounds the
+	 * number of threads of the server as a whole.
+	 * @param properties the config server properties
+	 * @return the task runner
+	 */
+	@Bean
+	@ConditionalOnMissingBean(name = "encryptionTaskRunner")
+	public ConcurrentTaskRunner encryptionTaskRunner(ConfigServerProperties properties) {
+		return new ConcurrentTaskRunner("config-encrypt-", properties.getEncrypt().getConcurrency());
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(value = "spring.cloud.config.server.encrypt.enabled", matchIfMissing = true)
 	@ConditionalOnBean(TextEncryptorLocator.class)
 	public EnvironmentEncryptor environmentEncryptor(@Autowired(required = false) TextEncryptorLocator locator,
-			TextEncryptor encryptor) {
+			TextEncryptor encryptor, ConfigServerProperties properties, ConcurrentTaskRunner encryptionTaskRunner) {
 		if (locator == null) {
 			locator = new SingleTextEncryptorLocator(encryptor);
 		}
 		CipherEnvironmentEncryptor environmentEncryptor = new CipherEnvironmentEncryptor(locator);
 		environmentEncryptor.setPrefixInvalidProperties(prefixInvalidProperties);
+		environmentEncryptor.setTaskRunner(encryptionTaskRunner);
+		ConfigServerProperties.Encrypt.Cache cache = properties.getEncrypt().getCache();
+		if (cache.getMaxSize() > 0) {
+			environmentEncryptor.setCache(new DecryptedValueCache(cache.getMaxSize(), cache.getTtl()));
+		}
 		return environmentEncryptor;
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnProperty("spring.cloud.config.server.encrypt.cache.max-size")
+	protected static class DecryptedValueCacheMetricsConfiguration {
+
+		@Bean
+		public MeterBinder decryptedValueCacheMeterBinder(ObjectProvider<EnvironmentEncryptor> environmentEncryptors) {
+			return registry -> environmentEncryptors.orderedStream()
+				.filter(CipherEnvironmentEncryptor.class::isInstance)
+				.map(encryptor -> ((CipherEnvironmentEncryptor) encryptor).getCache())
+				.filter(Objects::nonNull)
+				.forEach(cache -> new DecryptedValueCacheMeterBinder(cache).bindTo(registry));
+		}
+
+	}
+
 }
@@ -39,7 +39,7 @@ import org.springframework.security.crypto.encrypt.RsaSecretEncryptor;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnProperty(prefix = "encrypt.key-store", value = "location")
 @ConditionalOnClass(RsaSecretEncryptor.class)
-@EnableConfigurationProperties
+@EnableConfigurationProperties(ConfigServerProperties.class)
 public class RsaEncryptionAutoConfiguration {
 
 	@Bean
@@ -50,7 +50,8 @@ public class RsaEncryptionAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public TextEncryptorLocator textEncryptorLocator(KeyProperties key, RsaProperties rsaProperties) {
+	public TextEncryptorLocator textEncryptorLocator(KeyProperties key, RsaProperties rsaProperties,
+			ConfigServerProperties properties) {
 		KeyProperties.KeyStore keyStore = key.getKeyStore();
 		KeyStoreTextEncryptorLocator locator = new KeyStoreTextEncryptorLocator(
 				new KeyStoreKeyFactory(keyStore.getLocation(), keyStore.getPassword().toCharArray(),
@@ -60,6 +61,7 @@ public class RsaEncryptionAutoConfiguration {
 		locator.setRsaAlgorithm(algorithm);
 		locator.setSalt(rsaProperties.getSalt());
 		locator.setStrong(rsaProperties.isStrong());
+		locator.setCacheTtl(properties.getEncrypt().getEncryptorCacheTtl());
 		return locator;
 	}
 
@@ -16,10 +16,13 @@
 
 package org.springframework.cloud.config.server.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.cloud.config.server.encryption.vault.VaultEnvironmentEncryptor;
 import org.springframework.cloud.config.server.environment.vault.SpringVaultEnvironmentRepository;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -40,10 +43,12 @@ public class VaultEncryptionAutoConfiguration {
 
 	@Bean
 	public VaultEnvironmentEncryptor vaultEnvironmentEncryptor(
-			SpringVaultEnvironmentRepository vaultEnvironmentRepository) {
+			SpringVaultEnvironmentRepository vaultEnvironmentRepository,
+			@Qualifier("encryptionTaskRunner") ObjectProvider<ConcurrentTaskRunner> encryptionTaskRunner) {
 		VaultEnvironmentEncryptor vaultEnvironmentEncryptor = new VaultEnvironmentEncryptor(
 				vaultEnvironmentRepository.getKeyValueTemplate());
 		vaultEnvironmentEncryptor.setPrefixInvalidProperties(this.prefixInvalidProperties);
+		vaultEnvironmentEncryptor.setTaskRunner(encryptionTaskRunner.getIfAvailable());
 		return vaultEnvironmentEncryptor;
 	}
 
@@ -17,8 +17,12 @@
 package org.springframework.cloud.config.server.encryption;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import tools.jackson.core.JsonParser;
@@ -76,12 +80,64 @@ abstract class AbstractCipherResourceEncryptor implements ResourceEncryptor {
 			}
 		}
 
-		for (String value : valsToDecrypt) {
-			String decryptedValue = decryptValue(value.replace(CIPHER_MARKER, ""), name, profiles);
-			text = text.replace(value, decryptedValue);
-		}
+		return decryptValues(text, valsToDecrypt, name, profiles);
+	}
 
-		return text;
+	/**
+	 * Replaces every occurrence of the given cipher values in the text with its decrypted
+	 * value. The text is copied in a single pass, jumping from one cipher marker to the
+	 * next, so the cost is linear in the length of the text rather than proportional to
+	 * the number of values times the length of the text.
+	 * @param text the text to decrypt
+	 * @param values the cipher values, each starting with the cipher marker
+	 * @param name the application name
+	 * @param profiles the profiles
+	 * @return the decrypted text
+	 */
+	protected String decryptValues(String text, Set<String> values, String name, String[] profiles) {
+		if (values.isEmpty()) {
+			return text;
+		}
+		int prefixLength = Integer.MAX_VALUE;
+		for (String value : values) {
+			prefixLength = Math.min(prefixLength, value.length());
+		}
+		// candidates are looked up by a common length prefix, longest value first
+		Map<String, List<String>> candidates = new HashMap<>();
+		for (String value : values) {
+			candidates.computeIfAbsent(value.substring(0, prefixLength), key -> new ArrayList<>()).add(value);
+		}
+		candidates.values().forEach(list -> list.sort(Comparator.comparingInt(String::length).reversed()));
+
+		Map<String, String> decrypted = new HashMap<>();
+		StringBuilder builder = new StringBuilder(text.length());
+		int start = 0;
+		int index = text.indexOf(CIPHER_MARKER);
+		while (index >= 0) {
+			String match = null;
+			if (index + prefixLength <= text.length()) {
+				List<String> list = candidates.get(text.substring(index, index + prefixLength));
+				if (list != null) {
+					for (String value : list) {
+						if (text.startsWith(value, index)) {
+							match = value;
+							break;
+						}
+					}
+				}
+			}
+			if (match == null) {
+				index = text.indexOf(CIPHER_MARKER, index + 1);
+				continue;
+			}
+			builder.append(text, start, index);
+			builder.append(decrypted.computeIfAbsent(match,
+					value -> decryptValue(value.substring(CIPHER_MARKER.length()), name, profiles)));
+			start = index + match.length();
+			index = text.indexOf(CIPHER_MARKER, start);
+		}
+		builder.append(text, start, text.length());
+		return builder.toString();
 	}
 
 	protected String decryptValue(String value, String name, String[] profiles) {
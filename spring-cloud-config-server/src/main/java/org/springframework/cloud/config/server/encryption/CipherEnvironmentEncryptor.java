@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.config.server.encryption;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -26,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -48,6 +52,10 @@ public class CipherEnvironmentEncryptor implements EnvironmentEncryptor {
 
 	private EnvironmentPrefixHelper helper = new EnvironmentPrefixHelper();
 
+	private DecryptedValueCache cache;
+
+	private ConcurrentTaskRunner taskRunner;
+
 	@Autowired
 	public CipherEnvironmentEncryptor(TextEncryptorLocator encryptor) {
 		this.encryptor = encryptor;
@@ -60,36 +68,39 @@ public class CipherEnvironmentEncryptor implements EnvironmentEncryptor {
 
 	private Environment decrypt(Environment environment, TextEncryptorLocator encryptor) {
 		Environment result = new Environment(environment);
-		for (PropertySource source : environment.getPropertySources()) {
-			Map<Object, Object> map = new LinkedHashMap<Object, Object>(source.getSource());
-			for (Map.Entry<Object, Object> entry : new LinkedHashSet<>(map.entrySet())) {
+		String profiles = StringUtils.arrayToCommaDelimitedString(environment.getProfiles());
+		List<PropertySource> sources = environment.getPropertySources();
+		List<Boolean> encrypted = new ArrayList<>(sources.size());
+		List<Callable<Map.Entry<String, String>>> tasks = new ArrayList<>();
+		for (PropertySource source : sources) {
+			int count = tasks.size();
+			for (Map.Entry<?, ?> entry : source.getSource().entrySet()) {
 				Object key = entry.getKey();
-				String name = key.toString();
-				if (entry.getValue() != null && entry.getValue().toString().startsWith("{cipher}")) {
+				if (isEncrypted(entry.getValue())) {
 					String value = entry.getValue().toString();
-					map.remove(key);
-					try {
-						value = value.substring("{cipher}".length());
-						value = encryptor
-							.locate(this.helper.getEncryptorKeys(name,
-									StringUtils.arrayToCommaDelimitedString(environment.getProfiles()), value))
-							.decrypt(this.helper.stripPrefix(value));
-					}
-					catch (Exception e) {
-						if (this.prefixInvalidProperties) {
-							value = "<n/a>";
-							name = "invalid." + name;
-						}
-						String message = "Cannot decrypt key: " + key + " (" + e.getClass() + ": " + e.getMessage()
-								+ ")";
-						if (logger.isDebugEnabled()) {
-							logger.debug(message, e);
-						}
-						else if (logger.isWarnEnabled()) {
-							logger.warn(message);
-						}
-					}
-					map.put(name, value);
+					tasks.add(() -> decrypt(encryptor, key, value, profiles));
+				}
+			}
+			encrypted.add(tasks.size() > count);
+		}
+		List<Map.Entry<String, String>> decrypted = invoke(tasks);
+		int index = 0;
+		for (int i = 0; i < sources.size(); i++) {
+			PropertySource source = sources.get(i);
+			if (!encrypted.get(i)) {
+				// nothing to decrypt, so there is no need to copy the values
+				result.add(new PropertySource(source.getName(), source.getSource()));
+				continue;
+			}
+			// decrypted values take the place of their cipher text, possibly under a new name
+			Map<Object, Object> map = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : source.getSource().entrySet()) {
+				if (isEncrypted(entry.getValue())) {
+					Map.Entry<String, String> value = decrypted.get(index++);
+					map.put(value.getKey(), value.getValue());
+				}
+				else {
+					map.put(entry.getKey(), entry.getValue());
 				}
 			}
 			result.add(new PropertySource(source.getName(), map));
@@ -97,8 +108,87 @@ public class CipherEnvironmentEncryptor implements EnvironmentEncryptor {
 		return result;
 	}
 
+	private static boolean isEncrypted(Object value) {
+		return value != null && value.toString().startsWith("{cipher}");
+	}
+
+	private Map.Entry<String, String> decrypt(TextEncryptorLocator encryptor, Object key, String value,
+			String profiles) {
+		String name = key.toString();
+		try {
+			value = value.substring("{cipher}".length());
+			value = decrypt(encryptor, this.helper.getEncryptorKeys(name, profiles, value),
+					this.helper.stripPrefix(value));
+		}
+		catch (Exception e) {
+			if (this.prefixInvalidProperties) {
+				value = "<n/a>";
+				name = "invalid." + name;
+			}
+			String message = "Cannot decrypt key: " + key + " (" + e.getClass() + ": " + e.getMessage() + ")";
+			if (logger.isDebugEnabled()) {
+				logger.debug(message, e);
+			}
+			else if (logger.isWarnEnabled()) {
+				logger.warn(message);
+			}
+		}
+		return new AbstractMap.SimpleImmutableEntry<>(name, value);
+	}
+
+	private List<Map.Entry<String, String>> invoke(List<Callable<Map.Entry<String, String>>> tasks) {
+		if (this.taskRunner != null) {
+			return this.taskRunner.invokeAll(tasks);
+		}
+		List<Map.Entry<String, String>> result = new ArrayList<>(tasks.size());
+		for (Callable<Map.Entry<String, String>> task : tasks) {
+			try {
+				result.add(task.call());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Could not decrypt properties", e);
+			}
+		}
+		return result;
+	}
+
+	private String decrypt(TextEncryptorLocator encryptor, Map<String, String> keys, String cipherText) {
+		if (this.cache == null) {
+			return encryptor.locate(keys).decrypt(cipherText);
+		}
+		String value = this.cache.get(keys, cipherText);
+		if (value == null) {
+			value = encryptor.locate(keys).decrypt(cipherText);
+			this.cache.put(keys, cipherText, value);
+		}
+		return value;
+	}
+
 	public void setPrefixInvalidProperties(boolean prefixInvalidProperties) {
 		this.prefixInvalidProperties = prefixInvalidProperties;
 	}
 
+	/**
+	 * Sets a cache for decrypted values, so that each cipher text is only decrypted once
+	 * until its entry expires or is evicted.
+	 * @param cache the cache, or null to decrypt every value on every request
+	 */
+	public void setCache(DecryptedValueCache cache) {
+		this.cache = cache;
+	}
+
+	public DecryptedValueCache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Sets the runner used to decrypt the values of an environment concurrently. Without
+	 * one, or with a runner of concurrency 1, values are decrypted one after another on
+	 * the calling thread.
+	 * @param taskRunner the runner for concurrent decryption
+	 */
+	public void setTaskRunner(ConcurrentTaskRunner taskRunner) {
+		this.taskRunner = taskRunner;
+	}
+
 }
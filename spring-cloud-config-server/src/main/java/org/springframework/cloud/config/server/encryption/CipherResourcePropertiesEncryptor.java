@@ -62,13 +62,7 @@ public class CipherResourcePropertiesEncryptor extends AbstractCipherResourceEnc
 			}
 		}
 
-		for (String value : valsToDecrypt) {
-			String decryptedValue = decryptValue(value.replace(CIPHER_MARKER, ""), environment.getName(),
-					environment.getProfiles());
-			text = text.replace(value, decryptedValue);
-		}
-
-		return text;
+		return decryptValues(text, valsToDecrypt, environment.getName(), environment.getProfiles());
 	}
 
 }
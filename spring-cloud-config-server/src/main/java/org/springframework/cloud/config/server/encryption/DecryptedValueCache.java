@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.encryption;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of decrypted values, keyed by the encryptor keys and the cipher text.
+ * Cipher texts never change their plain text, so a cached value stays valid until it
+ * expires or is evicted as one of the least recently used entries. Plain texts are held
+ * as character arrays that are cleared when they leave the cache.
+ * <p>
+ * Lookups do not lock the cache. Once it grows beyond its maximum size, the expired and
+ * least recently used entries are evicted in one pass, down to 90% of the maximum size.
+ */
+public class DecryptedValueCache {
+
+	private final int maxSize;
+
+	private final long ttl;
+
+	private final Map<CacheKey, CachedValue> values = new ConcurrentHashMap<>();
+
+	private final Object evictionMonitor = new Object();
+
+	private final AtomicLong accessCounter = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	public DecryptedValueCache(int maxSize, Duration ttl) {
+		Assert.isTrue(maxSize > 0, "maxSize must be positive");
+		Assert.notNull(ttl, "ttl must not be null");
+		this.maxSize = maxSize;
+		this.ttl = ttl.toNanos();
+	}
+
+	/**
+	 * Returns the cached plain text for the cipher text.
+	 * @param keys the keys used to locate the encryptor
+	 * @param cipherText the cipher text without its prefix
+	 * @return the plain text or null if it is not cached
+	 */
+	public String get(Map<String, String> keys, String cipherText) {
+		CacheKey key = new CacheKey(keys, cipherText);
+		CachedValue value = this.values.get(key);
+		String plainText = null;
+		if (value != null && !isExpired(value)) {
+			plainText = value.read(this.accessCounter.incrementAndGet());
+		}
+		else if (value != null && this.values.remove(key, value)) {
+			evict(value);
+		}
+		if (plainText == null) {
+			this.misses.increment();
+			return null;
+		}
+		this.hits.increment();
+		return plainText;
+	}
+
+	/**
+	 * Caches the plain text for the cipher text.
+	 * @param keys the keys used to locate the encryptor
+	 * @param cipherText the cipher text without its prefix
+	 * @param plainText the decrypted value
+	 */
+	public void put(Map<String, String> keys, String cipherText, String plainText) {
+		CachedValue value = new CachedValue(plainText.toCharArray(), System.nanoTime(),
+				this.accessCounter.incrementAndGet());
+		CachedValue previous = this.values.put(new CacheKey(new LinkedHashMap<>(keys), cipherText), value);
+		if (previous != null) {
+			previous.wipe();
+		}
+		if (this.values.size() > this.maxSize) {
+			trim();
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache and clears their plain texts.
+	 */
+	public void clear() {
+		for (CacheKey key : this.values.keySet()) {
+			CachedValue value = this.values.remove(key);
+			if (value != null) {
+				value.wipe();
+			}
+		}
+	}
+
+	public int size() {
+		return this.values.size();
+	}
+
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	private void trim() {
+		synchronized (this.evictionMonitor) {
+			int excess = this.values.size() - this.maxSize;
+			if (excess <= 0) {
+				return;
+			}
+			// the access times keep changing, so sort a copy of them
+			List<Candidate> candidates = new ArrayList<>(this.values.size());
+			this.values.forEach((key, value) -> candidates
+				.add(new Candidate(key, value, isExpired(value) ? Long.MIN_VALUE : value.lastAccess())));
+			candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+			int count = Math.min(excess + this.maxSize / 10, candidates.size());
+			for (Candidate candidate : candidates.subList(0, count)) {
+				if (this.values.remove(candidate.key(), candidate.value())) {
+					evict(candidate.value());
+				}
+			}
+		}
+	}
+
+	private boolean isExpired(CachedValue value) {
+		return System.nanoTime() - value.created() >= this.ttl;
+	}
+
+	private void evict(CachedValue value) {
+		this.evictions.increment();
+		value.wipe();
+	}
+
+	private record CacheKey(Map<String, String> keys, String cipherText) {
+	}
+
+	private record Candidate(CacheKey key, CachedValue value, long lastAccess) {
+	}
+
+	/**
+	 * A plain text that can be cleared. Reads and clearing are guarded by the value
+	 * itself, so a lookup never sees a partly cleared plain text.
+	 */
+	private static final class CachedValue {
+
+		private final char[] plainText;
+
+		private final long created;
+
+		private volatile long lastAccess;
+
+		private boolean wiped;
+
+		CachedValue(char[] plainText, long created, long lastAccess) {
+			this.plainText = plainText;
+			this.created = created;
+			this.lastAccess = lastAccess;
+		}
+
+		long created() {
+			return this.created;
+		}
+
+		long lastAccess() {
+			return this.lastAccess;
+		}
+
+		synchronized String read(long access) {
+			if (this.wiped) {
+				return null;
+			}
+			this.lastAccess = access;
+			return new String(this.plainText);
+		}
+
+		synchronized void wipe() {
+			this.wiped = true;
+			Arrays.fill(this.plainText, '\0');
+		}
+
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.encryption;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the statistics of a {@link DecryptedValueCache} with the names and tags that
+ * Micrometer uses for caches, so that the hit rate can be derived from
+ * {@code cache.gets}.
+ */
+public class DecryptedValueCacheMeterBinder implements MeterBinder {
+
+	/**
+	 * Name of the cache in the {@code cache} tag.
+	 */
+	public static final String CACHE_NAME = "config-server-decrypted-values";
+
+	private final DecryptedValueCache cache;
+
+	public DecryptedValueCacheMeterBinder(DecryptedValueCache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", this.cache, DecryptedValueCache::getHitCount)
+			.tag("cache", CACHE_NAME)
+			.tag("result", "hit")
+			.description("The number of decrypted values served from the cache")
+			.register(registry);
+		FunctionCounter.builder("cache.gets", this.cache, DecryptedValueCache::getMissCount)
+			.tag("cache", CACHE_NAME)
+			.tag("result", "miss")
+			.description("The number of values that had to be decrypted")
+			.register(registry);
+		FunctionCounter.builder("cache.evictions", this.cache, DecryptedValueCache::getEvictionCount)
+			.tag("cache", CACHE_NAME)
+			.description("The number of decrypted values evicted or expired from the cache")
+			.register(registry);
+		Gauge.builder("cache.size", this.cache, DecryptedValueCache::size)
+			.tag("cache", CACHE_NAME)
+			.description("The number of decrypted values in the cache")
+			.register(registry);
+	}
+
+}
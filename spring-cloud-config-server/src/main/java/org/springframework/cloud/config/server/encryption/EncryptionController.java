@@ -18,15 +18,22 @@ package org.springframework.cloud.config.server.encryption;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
 
 import org.springframework.cloud.config.server.environment.InvalidEnvironmentRequestException;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.cloud.context.encrypt.KeyFormatException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -68,6 +75,10 @@ public class EncryptionController {
 
 	private boolean validateProfiles = true;
 
+	private final JsonMapper objectMapper = new JsonMapper();
+
+	private ConcurrentTaskRunner taskRunner;
+
 	public EncryptionController(TextEncryptorLocator encryptorLocator) {
 		this.encryptorLocator = encryptorLocator;
 	}
@@ -149,6 +160,142 @@ public class EncryptionController {
 		}
 	}
 
+	/**
+	 * Encrypts a batch of values. The body is either a JSON array or a JSON object whose
+	 * values are either plain strings or objects with a <code>value</code> and optional
+	 * <code>name</code> and <code>profiles</code>. The results are returned in the same
+	 * shape as the request, once all values have been processed.
+	 * @param data the JSON batch
+	 * @return the encrypted values
+	 */
+	@PostMapping(path = "/encrypt/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public Object encryptBatch(@RequestBody String data) {
+		return batch(data, true);
+	}
+
+	/**
+	 * Decrypts a batch of values, see {@link #encryptBatch(String)} for the format. If any
+	 * value cannot be decrypted the whole batch is rejected as a bad request.
+	 * @param data the JSON batch
+	 * @return the decrypted values
+	 */
+	@PostMapping(path = "/decrypt/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public Object decryptBatch(@RequestBody String data) {
+		return batch(data, false);
+	}
+
+	private Object batch(String data, boolean encrypt) {
+		Object batch = readBatch(data);
+		List<String> names = batch instanceof Map ? new ArrayList<>() : null;
+		List<Callable<String>> tasks = new ArrayList<>();
+		// one encryptor per context, located and checked before any value is processed
+		Map<Map<String, String>, TextEncryptor> encryptors = new HashMap<>();
+		Iterable<?> items = batch instanceof Map<?, ?> map ? map.entrySet() : (List<?>) batch;
+		for (Object item : items) {
+			String label = "[" + tasks.size() + "]";
+			if (item instanceof Map.Entry<?, ?> entry) {
+				label = entry.getKey().toString();
+				names.add(label);
+				item = entry.getValue();
+			}
+			BatchItem batchItem = batchItem(item);
+			Map<String, String> keys = helper.getEncryptorKeys(batchItem.name(), batchItem.profiles(),
+					batchItem.value());
+			TextEncryptor encryptor = encryptors.get(keys);
+			if (encryptor == null) {
+				encryptor = getEncryptor(batchItem.name(), batchItem.profiles(), batchItem.value());
+				if (!encrypt) {
+					checkDecryptionPossible(encryptor);
+				}
+				validateEncryptionWeakness(encryptor);
+				encryptors.put(keys, encryptor);
+			}
+			tasks.add(encrypt ? encryptTask(encryptor, keys, batchItem) : decryptTask(encryptor, batchItem, label));
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info((encrypt ? "Encrypting " : "Decrypting ") + tasks.size() + " values with "
+					+ encryptors.size() + " encryptors");
+		}
+		List<String> results = invokeAll(tasks);
+		if (names == null) {
+			return results;
+		}
+		Map<String, String> result = new LinkedHashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			result.put(names.get(i), results.get(i));
+		}
+		return result;
+	}
+
+	private List<String> invokeAll(List<Callable<String>> tasks) {
+		if (this.taskRunner != null) {
+			return this.taskRunner.invokeAll(tasks);
+		}
+		List<String> results = new ArrayList<>(tasks.size());
+		for (Callable<String> task : tasks) {
+			try {
+				results.add(task.call());
+			}
+			catch (Exception e) {
+				if (e instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw new IllegalStateException("Could not process batch", e);
+			}
+		}
+		return results;
+	}
+
+	private Object readBatch(String data) {
+		Object batch;
+		try {
+			batch = this.objectMapper.readValue(data, Object.class);
+		}
+		catch (JacksonException e) {
+			throw new InvalidBatchException("Batch is not valid JSON");
+		}
+		if (!(batch instanceof Map) && !(batch instanceof List)) {
+			throw new InvalidBatchException("Batch must be a JSON array or object");
+		}
+		return batch;
+	}
+
+	private BatchItem batchItem(Object item) {
+		if (item instanceof String value) {
+			return new BatchItem(defaultApplicationName, defaultProfile, value);
+		}
+		if (item instanceof Map<?, ?> map && map.get("value") instanceof String value) {
+			Object name = map.get("name");
+			Object profiles = map.get("profiles");
+			return new BatchItem(name != null ? name.toString() : defaultApplicationName,
+					profiles != null ? profiles.toString() : defaultProfile, value);
+		}
+		throw new InvalidBatchException("Batch items must be strings or objects with a string value");
+	}
+
+	private Callable<String> encryptTask(TextEncryptor encryptor, Map<String, String> keys, BatchItem item) {
+		String textToEncrypt = helper.stripPrefix(item.value());
+		return () -> helper.addPrefix(keys, encryptor.encrypt(textToEncrypt));
+	}
+
+	private Callable<String> decryptTask(TextEncryptor encryptor, BatchItem item, String label) {
+		String input = helper.stripPrefix(item.value());
+		return () -> {
+			try {
+				return encryptor.decrypt(input);
+			}
+			catch (IllegalArgumentException | IllegalStateException e) {
+				if (logger.isErrorEnabled()) {
+					logger.error("Cannot decrypt key:" + item.name() + ", value:" + item.value()
+							+ ", Please verify if encrypt.key is set correctly", e);
+				}
+				throw new InvalidBatchException("Cannot decrypt batch item " + label);
+			}
+		};
+	}
+
 	private TextEncryptor getEncryptor(String name, String profiles, String data) {
 		if (isInvalidEncodedLocation(name)) {
 			throw new InvalidEnvironmentRequestException("Invalid request");
@@ -220,6 +367,14 @@ public class EncryptionController {
 
 	}
 
+	@ExceptionHandler(InvalidBatchException.class)
+	public ResponseEntity<Map<String, Object>> invalidBatch(InvalidBatchException e) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("status", "BAD_REQUEST");
+		body.put("description", e.getMessage());
+		return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+	}
+
 	@ExceptionHandler(KeyFormatException.class)
 	public ResponseEntity<Map<String, Object>> keyFormat() {
 		Map<String, Object> body = new HashMap<>();
@@ -272,6 +427,18 @@ public class EncryptionController {
 		this.validateProfiles = validateProfiles;
 	}
 
+	/**
+	 * Sets the runner used to process the items of a batch concurrently. Without one, or
+	 * with a runner of concurrency 1, items are processed one after another.
+	 * @param taskRunner the runner for batch items
+	 */
+	public void setTaskRunner(ConcurrentTaskRunner taskRunner) {
+		this.taskRunner = taskRunner;
+	}
+
+	private record BatchItem(String name, String profiles, String value) {
+	}
+
 }
 
 @SuppressWarnings("serial")
@@ -298,3 +465,12 @@ class InvalidCipherException extends RuntimeException {
 class DecryptionNotSupportedException extends RuntimeException {
 
 }
+
+@SuppressWarnings("serial")
+class InvalidBatchException extends RuntimeException {
+
+	InvalidBatchException(String message) {
+		super(message);
+	}
+
+}
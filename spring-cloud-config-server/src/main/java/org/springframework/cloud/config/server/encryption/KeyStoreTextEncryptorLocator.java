@@ -16,7 +16,11 @@
 
 package org.springframework.cloud.config.server.encryption;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.security.crypto.encrypt.KeyStoreKeyFactory;
 import org.springframework.security.crypto.encrypt.RsaAlgorithm;
@@ -28,7 +32,10 @@ import org.springframework.security.crypto.encrypt.TextEncryptor;
  * map can contain entries for "key" or "secret" or both, or neither. The secret in the
  * input map is not, in general, the secret in the keystore, but is dereferenced through a
  * {@link SecretLocator} (so for example you can keep a table of encrypted secrets and
- * update it separately to the keystore).
+ * update it separately to the keystore). Encryptors are created once per alias and
+ * resolved secret and then reused, optionally until the configured cache TTL has
+ * expired. At most {@value #MAX_CACHE_SIZE} encryptors for non-default keys are kept,
+ * expired ones are purged whenever a new one is created.
  *
  * @author Dave Syer
  *
@@ -39,13 +46,19 @@ public class KeyStoreTextEncryptorLocator implements TextEncryptorLocator {
 
 	private final static String SECRET = "secret";
 
+	private static final int MAX_CACHE_SIZE = 100;
+
 	private KeyStoreKeyFactory keys;
 
 	private String defaultSecret;
 
 	private String defaultAlias;
 
-	private RsaSecretEncryptor defaultEncryptor;
+	private volatile RsaSecretEncryptor defaultEncryptor;
+
+	private final Map<EncryptorKey, CachedEncryptor> encryptors = new ConcurrentHashMap<>();
+
+	private Duration cacheTtl = Duration.ZERO;
 
 	private SecretLocator secretLocator = new PassthruSecretLocator();
 
@@ -66,18 +79,32 @@ public class KeyStoreTextEncryptorLocator implements TextEncryptorLocator {
 	 */
 	public void setSecretLocator(SecretLocator secretLocator) {
 		this.secretLocator = secretLocator;
+		clearCache();
 	}
 
 	public void setRsaAlgorithm(RsaAlgorithm rsaAlgorithm) {
 		this.rsaAlgorithm = rsaAlgorithm;
+		clearCache();
 	}
 
 	public void setStrong(boolean strong) {
 		this.strong = strong;
+		clearCache();
 	}
 
 	public void setSalt(String salt) {
 		this.salt = salt;
+		clearCache();
+	}
+
+	/**
+	 * Sets the time after which an encryptor for a non-default alias or secret is created
+	 * again. Encryptors are kept until the locator is reconfigured if the TTL is zero or
+	 * negative.
+	 * @param cacheTtl the cache TTL
+	 */
+	public void setCacheTtl(Duration cacheTtl) {
+		this.cacheTtl = cacheTtl == null ? Duration.ZERO : cacheTtl;
 	}
 
 	@Override
@@ -85,19 +112,76 @@ public class KeyStoreTextEncryptorLocator implements TextEncryptorLocator {
 		String alias = keys.containsKey(KEY) ? keys.get(KEY) : this.defaultAlias;
 		String secret = keys.containsKey(SECRET) ? keys.get(SECRET) : this.defaultSecret;
 		if (alias.equals(this.defaultAlias) && secret.equals(this.defaultSecret)) {
-			if (this.defaultEncryptor == null) {
-				this.defaultEncryptor = rsaSecretEncryptor(alias, secret);
+			RsaSecretEncryptor encryptor = this.defaultEncryptor;
+			if (encryptor == null) {
+				synchronized (this) {
+					encryptor = this.defaultEncryptor;
+					if (encryptor == null) {
+						encryptor = rsaSecretEncryptor(alias, this.secretLocator.locate(secret));
+						this.defaultEncryptor = encryptor;
+					}
+				}
 			}
-			return this.defaultEncryptor;
+			return encryptor;
 		}
-		else {
-			return rsaSecretEncryptor(alias, secret);
+		EncryptorKey key = new EncryptorKey(alias, this.secretLocator.locate(secret));
+		CachedEncryptor cached = this.encryptors.get(key);
+		if (cached == null || isExpired(cached)) {
+			cached = this.encryptors.compute(key, (k, existing) -> existing == null || isExpired(existing)
+					? new CachedEncryptor(rsaSecretEncryptor(k.alias(), k.secret()), System.nanoTime()) : existing);
+			purge();
 		}
+		return cached.encryptor();
+	}
+
+	/**
+	 * Drops the expired encryptors and, if there are still too many, the oldest ones.
+	 */
+	private void purge() {
+		this.encryptors.values().removeIf(this::isExpired);
+		while (this.encryptors.size() > MAX_CACHE_SIZE) {
+			this.encryptors.entrySet()
+				.stream()
+				.min(Comparator.comparingLong(entry -> entry.getValue().created()))
+				.ifPresent(eldest -> this.encryptors.remove(eldest.getKey(), eldest.getValue()));
+		}
+	}
+
+	private boolean isExpired(CachedEncryptor cached) {
+		return !this.cacheTtl.isZero() && !this.cacheTtl.isNegative()
+				&& System.nanoTime() - cached.created() >= this.cacheTtl.toNanos();
+	}
+
+	private void clearCache() {
+		this.defaultEncryptor = null;
+		this.encryptors.clear();
+	}
+
+	private RsaSecretEncryptor rsaSecretEncryptor(String alias, char[] secret) {
+		return new RsaSecretEncryptor(this.keys.getKeyPair(alias, secret), this.rsaAlgorithm, this.salt, this.strong);
+	}
+
+	private record EncryptorKey(String alias, char[] secret) {
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof EncryptorKey key && this.alias.equals(key.alias)
+					&& Arrays.equals(this.secret, key.secret);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.alias.hashCode() + Arrays.hashCode(this.secret);
+		}
+
+		@Override
+		public String toString() {
+			return "EncryptorKey[alias=" + this.alias + "]";
+		}
+
 	}
 
-	private RsaSecretEncryptor rsaSecretEncryptor(String alias, String secret) {
-		return new RsaSecretEncryptor(this.keys.getKeyPair(alias, this.secretLocator.locate(secret)), this.rsaAlgorithm,
-				this.salt, this.strong);
+	private record CachedEncryptor(RsaSecretEncryptor encryptor, long created) {
 	}
 
 }
@@ -16,10 +16,14 @@
 
 package org.springframework.cloud.config.server.encryption.vault;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -28,6 +32,7 @@ import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.encryption.CipherEnvironmentEncryptor;
 import org.springframework.cloud.config.server.encryption.EnvironmentEncryptor;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.util.ObjectUtils;
 import org.springframework.vault.core.VaultKeyValueOperations;
 import org.springframework.vault.support.VaultResponse;
@@ -46,87 +51,162 @@ public class VaultEnvironmentEncryptor implements EnvironmentEncryptor {
 
 	private boolean prefixInvalidProperties = true;
 
+	private ConcurrentTaskRunner taskRunner;
+
 	public VaultEnvironmentEncryptor(VaultKeyValueOperations keyValueTemplate) {
 		this.keyValueTemplate = keyValueTemplate;
 	}
 
 	@Override
 	public Environment decrypt(Environment environment) {
-		Map<String, VaultResponse> loadedVaultKeys = new HashMap<>();
+		List<PropertySource> sources = environment.getPropertySources();
+		List<List<Object>> vaultKeys = new ArrayList<>(sources.size());
+		Set<String> paths = new LinkedHashSet<>();
+		for (PropertySource source : sources) {
+			List<Object> keys = new ArrayList<>();
+			for (Map.Entry<?, ?> entry : source.getSource().entrySet()) {
+				if (entry.getValue() != null && entry.getValue().toString().startsWith("{vault}")) {
+					keys.add(entry.getKey());
+					VaultReference reference = VaultReference.parse(entry.getValue().toString());
+					if (reference != null) {
+						paths.add(reference.path());
+					}
+				}
+			}
+			vaultKeys.add(keys);
+		}
+
+		// every path is read once per environment, however many properties refer to it
+		Map<String, Object> loadedVaultKeys = readAll(paths);
 
 		Environment result = new Environment(environment);
-		for (PropertySource source : environment.getPropertySources()) {
+		for (int i = 0; i < sources.size(); i++) {
+			PropertySource source = sources.get(i);
+			List<Object> keys = vaultKeys.get(i);
+			if (keys.isEmpty()) {
+				result.add(new PropertySource(source.getName(), source.getSource()));
+				continue;
+			}
 			Map<Object, Object> map = new LinkedHashMap<>(source.getSource());
-			for (Map.Entry<Object, Object> entry : new LinkedHashSet<>(map.entrySet())) {
-				Object key = entry.getKey();
+			for (Object key : keys) {
 				String name = key.toString();
-				if (entry.getValue() != null && entry.getValue().toString().startsWith("{vault}")) {
-					String value = entry.getValue().toString();
-					map.remove(key);
-					try {
-						value = value.substring("{vault}".length());
-
-						if (!value.startsWith(":")) {
-							throw new RuntimeException("Wrong format");
-						}
-
-						value = value.substring(1);
-
-						if (!value.contains("#")) {
-							throw new RuntimeException("Wrong format");
-						}
-
-						String[] parts = value.split("#");
-
-						if (parts.length == 1) {
-							throw new RuntimeException("Wrong format");
-						}
-
-						if (ObjectUtils.isEmpty(parts[0]) || ObjectUtils.isEmpty(parts[1])) {
-							throw new RuntimeException("Wrong format");
-						}
-
-						String vaultKey = parts[0];
-						String vaultParamName = parts[1];
-
-						if (!loadedVaultKeys.containsKey(vaultKey)) {
-							loadedVaultKeys.put(vaultKey, keyValueTemplate.get(vaultKey));
-						}
-
-						VaultResponse vaultResponse = loadedVaultKeys.get(vaultKey);
+				String value = map.remove(key).toString();
+				try {
+					VaultReference reference = VaultReference.parse(value);
+					// an invalid value is kept without its prefix
+					value = VaultReference.strip(value);
+					if (reference == null) {
+						throw new RuntimeException("Wrong format");
+					}
+					Object loaded = loadedVaultKeys.get(reference.path());
+					if (loaded instanceof RuntimeException exception) {
+						throw exception;
+					}
+					VaultResponse vaultResponse = (VaultResponse) loaded;
 
-						if (vaultResponse == null || (vaultResponse.getData() == null
-								|| !vaultResponse.getData().containsKey(vaultParamName))) {
-							value = null;
-						}
-						else {
-							value = vaultResponse.getData().get(vaultParamName).toString();
-						}
+					if (vaultResponse == null || (vaultResponse.getData() == null
+							|| !vaultResponse.getData().containsKey(reference.name()))) {
+						value = null;
+					}
+					else {
+						value = vaultResponse.getData().get(reference.name()).toString();
+					}
+				}
+				catch (Exception e) {
+					if (this.prefixInvalidProperties) {
+						value = "<n/a>";
+						name = "invalid." + name;
 					}
-					catch (Exception e) {
-						if (this.prefixInvalidProperties) {
-							value = "<n/a>";
-							name = "invalid." + name;
-						}
-						String message = "Cannot resolve key: " + key + " (" + e.getClass() + ": " + e.getMessage()
-								+ ")";
-						if (logger.isDebugEnabled()) {
-							logger.debug(message, e);
-						}
-						else if (logger.isWarnEnabled()) {
-							logger.warn(message);
-						}
+					String message = "Cannot resolve key: " + key + " (" + e.getClass() + ": " + e.getMessage() + ")";
+					if (logger.isDebugEnabled()) {
+						logger.debug(message, e);
+					}
+					else if (logger.isWarnEnabled()) {
+						logger.warn(message);
 					}
-					map.put(name, value);
 				}
+				map.put(name, value);
 			}
 			result.add(new PropertySource(source.getName(), map));
 		}
 		return result;
 	}
 
+	/**
+	 * Reads the given paths, concurrently if a task runner is configured. The request
+	 * attributes of the calling thread are made available to the worker threads, so that
+	 * tokens supplied with the request can still be resolved.
+	 * @param paths the paths to read
+	 * @return the response, or the exception thrown while reading it, for each path
+	 */
+	private Map<String, Object> readAll(Set<String> paths) {
+		Map<String, Object> values = new HashMap<>();
+		if (this.taskRunner == null) {
+			for (String path : paths) {
+				values.put(path, read(path));
+			}
+			return values;
+		}
+		List<String> ordered = new ArrayList<>(paths);
+		List<Callable<Object>> reads = new ArrayList<>(ordered.size());
+		for (String path : ordered) {
+			reads.add(() -> read(path));
+		}
+		List<Object> results = this.taskRunner.invokeAll(reads);
+		for (int i = 0; i < ordered.size(); i++) {
+			values.put(ordered.get(i), results.get(i));
+		}
+		return values;
+	}
+
+	private Object read(String path) {
+		try {
+			return this.keyValueTemplate.get(path);
+		}
+		catch (RuntimeException e) {
+			// remembered, so that a failing path is only tried once
+			return e;
+		}
+	}
+
 	public void setPrefixInvalidProperties(boolean prefixInvalidProperties) {
 		this.prefixInvalidProperties = prefixInvalidProperties;
 	}
 
+	/**
+	 * Sets the runner used to read the Vault paths of an environment concurrently.
+	 * Without one, or with a runner of concurrency 1, paths are read one after another.
+	 * @param taskRunner the runner for Vault reads
+	 */
+	public void setTaskRunner(ConcurrentTaskRunner taskRunner) {
+		this.taskRunner = taskRunner;
+	}
+
+	/**
+	 * A <code>{vault}:path#name</code> reference.
+	 */
+	private record VaultReference(String path, String name) {
+
+		static VaultReference parse(String value) {
+			if (!value.startsWith("{vault}:")) {
+				return null;
+			}
+			value = strip(value);
+			if (!value.contains("#")) {
+				return null;
+			}
+			String[] parts = value.split("#");
+			if (parts.length == 1 || ObjectUtils.isEmpty(parts[0]) || ObjectUtils.isEmpty(parts[1])) {
+				return null;
+			}
+			return new VaultReference(parts[0], parts[1]);
+		}
+
+		static String strip(String value) {
+			value = value.substring("{vault}".length());
+			return value.startsWith(":") ? value.substring(1) : value;
+		}
+
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -90,6 +91,16 @@ public abstract class AbstractScmEnvironmentRepository extends AbstractScmAccess
 		return this.cleaner.clean(environment, getWorkingDirectory().toURI().toString(), getUri());
 	}
 
+	/**
+	 * Holds the same monitor as {@link #findOne(String, String, String, boolean)}, so
+	 * that the working copy stays on the located version while the callback runs.
+	 */
+	@Override
+	public synchronized <T> T withLocations(String application, String profile, String label,
+			LocationsCallback<T> callback) throws IOException {
+		return callback.doWithLocations(getLocations(application, profile, label));
+	}
+
 	private Environment findOneInternal(String application, String profile, String label, boolean includeOrigin) {
 		var delegate = new NativeEnvironmentRepository(getEnvironment(), new NativeEnvironmentProperties(),
 				this.observationRegistry);
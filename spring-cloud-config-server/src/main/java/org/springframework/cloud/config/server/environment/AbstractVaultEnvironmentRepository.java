@@ -16,9 +16,14 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -28,10 +33,12 @@ import jakarta.validation.constraints.NotEmpty;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.util.ObjectUtils;
@@ -46,7 +53,7 @@ import static org.springframework.cloud.config.client.ConfigClientProperties.STA
  * @author Haytham Mohamed
  * @author Scott Frederick
  */
-public abstract class AbstractVaultEnvironmentRepository implements EnvironmentRepository, Ordered {
+public abstract class AbstractVaultEnvironmentRepository implements EnvironmentRepository, Ordered, DisposableBean {
 
 	private static final String DEFAULT_PROFILE = "default";
 
@@ -83,6 +90,8 @@ public abstract class AbstractVaultEnvironmentRepository implements EnvironmentR
 
 	protected int order;
 
+	private final ConcurrentTaskRunner taskRunner;
+
 	public AbstractVaultEnvironmentRepository(ObjectProvider<HttpServletRequest> request, EnvironmentWatch watch,
 			VaultEnvironmentProperties properties) {
 		this.defaultKey = properties.getDefaultKey();
@@ -94,6 +103,7 @@ public abstract class AbstractVaultEnvironmentRepository implements EnvironmentR
 		this.order = properties.getOrder();
 		this.request = request;
 		this.watch = watch;
+		this.taskRunner = new ConcurrentTaskRunner("vault-read-", properties.getReadConcurrency());
 	}
 
 	@Override
@@ -112,21 +122,19 @@ public abstract class AbstractVaultEnvironmentRepository implements EnvironmentR
 
 		var backendPathPrefix = "vault:" + (this.fullKeyPath ? this.backend + "/" : "");
 
+		var keys = new ArrayList<String>();
 		for (String prof : profiles) {
 			for (String app : applications) {
-				var key = vaultKey(app, prof, label);
-				// read raw 'data' key from vault
-				String data = read(key);
-				if (data != null) {
-					// data is in json format of which, yaml is a superset, so parse
-					var yaml = new YamlPropertiesFactoryBean();
-					yaml.setResources(new ByteArrayResource(data.getBytes()));
-					var properties = yaml.getObject();
-
-					if (properties != null && !properties.isEmpty()) {
-						environment.add(new PropertySource(backendPathPrefix + key, properties));
-					}
-				}
+				keys.add(vaultKey(app, prof, label));
+			}
+		}
+
+		// read 'data' keys from vault as flattened properties
+		var values = readAll(keys);
+		for (int i = 0; i < keys.size(); i++) {
+			var properties = values.get(i);
+			if (properties != null && !properties.isEmpty()) {
+				environment.add(new PropertySource(backendPathPrefix + keys.get(i), properties));
 			}
 		}
 
@@ -135,6 +143,79 @@ public abstract class AbstractVaultEnvironmentRepository implements EnvironmentR
 
 	protected abstract String read(String key);
 
+	/**
+	 * Reads the raw 'data' of a key and flattens it into properties. The default
+	 * implementation parses the JSON returned by {@link #read(String)}; subclasses with
+	 * direct access to the data should override it and use {@link #flatten(Map)}.
+	 * @param key the key to read
+	 * @return the flattened properties, or null if the key does not exist
+	 */
+	protected Map<?, ?> readProperties(String key) {
+		String data = read(key);
+		if (data == null) {
+			return null;
+		}
+		// data is in json format of which, yaml is a superset, so parse
+		var yaml = new YamlPropertiesFactoryBean();
+		yaml.setResources(new ByteArrayResource(data.getBytes()));
+		return yaml.getObject();
+	}
+
+	/**
+	 * Flattens nested maps and collections into properties, using the same key naming as
+	 * {@link YamlPropertiesFactoryBean} (dots for nested maps and indexes for lists).
+	 * @param data the data to flatten
+	 * @return the flattened properties
+	 */
+	protected static Map<String, Object> flatten(Map<?, ?> data) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		flatten(result, data, null);
+		return result;
+	}
+
+	private static void flatten(Map<String, Object> result, Map<?, ?> source, String path) {
+		source.forEach((rawKey, value) -> {
+			String key = (rawKey instanceof CharSequence) ? rawKey.toString() : "[" + rawKey + "]";
+			if (StringUtils.hasText(path)) {
+				key = key.startsWith("[") ? path + key : path + "." + key;
+			}
+			if (value instanceof String) {
+				result.put(key, value);
+			}
+			else if (value instanceof Map<?, ?> map) {
+				flatten(result, map, key);
+			}
+			else if (value instanceof Collection<?> collection) {
+				if (collection.isEmpty()) {
+					result.put(key, "");
+				}
+				else {
+					int count = 0;
+					for (Object item : collection) {
+						flatten(result, Collections.singletonMap("[" + (count++) + "]", item), key);
+					}
+				}
+			}
+			else {
+				result.put(key, (value != null) ? value : "");
+			}
+		});
+	}
+
+	/**
+	 * Reads the given keys, concurrently if a read concurrency greater than one is
+	 * configured.
+	 * @param keys the keys to read
+	 * @return the values, in the same order as the keys
+	 */
+	private List<Map<?, ?>> readAll(List<String> keys) {
+		List<Callable<Map<?, ?>>> reads = new ArrayList<>(keys.size());
+		for (String key : keys) {
+			reads.add(() -> readProperties(key));
+		}
+		return this.taskRunner.invokeAll(reads);
+	}
+
 	private String vaultKey(String application, String profile, String label) {
 		var key = application;
 		if (this.enableLabel) {
@@ -201,4 +282,9 @@ public abstract class AbstractVaultEnvironmentRepository implements EnvironmentR
 		this.order = order;
 	}
 
+	@Override
+	public void destroy() {
+		this.taskRunner.destroy();
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -100,6 +102,34 @@ public class AwsParameterStoreEnvironmentProperties implements EnvironmentReposi
 	@Max(10)
 	private int maxResults = 10;
 
+	/**
+	 * The maximum number of parameter paths fetched concurrently for a request. Defaults
+	 * to "1", which fetches the paths one after the other.
+	 */
+	@Min(1)
+	private int concurrency = 1;
+
+	/**
+	 * Time for which the parameters of a path are cached. Defaults to "0", which disables
+	 * the cache.
+	 */
+	@NotNull
+	private Duration cacheTtl = Duration.ZERO;
+
+	/**
+	 * Time after the cache TTL during which the cached parameters of a path are still
+	 * served while they are refreshed in the background. Defaults to "0".
+	 */
+	@NotNull
+	private Duration cacheStaleWhileRevalidate = Duration.ZERO;
+
+	/**
+	 * Flag to indicate that the AWS Parameter Store client should use the adaptive retry
+	 * mode, which backs off and rate limits requests on the client side when AWS throttles
+	 * them. Defaults to "false".
+	 */
+	private boolean adaptiveRetry = false;
+
 	public int getOrder() {
 		return order;
 	}
@@ -173,4 +203,36 @@ public class AwsParameterStoreEnvironmentProperties implements EnvironmentReposi
 		this.maxResults = maxResults;
 	}
 
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public Duration getCacheTtl() {
+		return cacheTtl;
+	}
+
+	public void setCacheTtl(Duration cacheTtl) {
+		this.cacheTtl = cacheTtl;
+	}
+
+	public Duration getCacheStaleWhileRevalidate() {
+		return cacheStaleWhileRevalidate;
+	}
+
+	public void setCacheStaleWhileRevalidate(Duration cacheStaleWhileRevalidate) {
+		this.cacheStaleWhileRevalidate = cacheStaleWhileRevalidate;
+	}
+
+	public boolean isAdaptiveRetry() {
+		return adaptiveRetry;
+	}
+
+	public void setAdaptiveRetry(boolean adaptiveRetry) {
+		this.adaptiveRetry = adaptiveRetry;
+	}
+
 }
@@ -20,21 +20,29 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
 import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
 import software.amazon.awssdk.services.ssm.model.Parameter;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.core.Ordered;
 import org.springframework.util.StringUtils;
 
@@ -43,7 +51,11 @@ import static org.springframework.cloud.config.server.environment.AwsParameterSt
 /**
  * @author Iulian Antohe
  */
-public class AwsParameterStoreEnvironmentRepository implements EnvironmentRepository, Ordered {
+public class AwsParameterStoreEnvironmentRepository implements EnvironmentRepository, Ordered, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(AwsParameterStoreEnvironmentRepository.class);
+
+	private static final int MAX_CACHE_SIZE = 1000;
 
 	private final SsmClient awsSsmClient;
 
@@ -53,12 +65,32 @@ public class AwsParameterStoreEnvironmentRepository implements EnvironmentReposi
 
 	private final int order;
 
+	private final ConcurrentTaskRunner taskRunner;
+
+	private final Map<String, CachedParameters> cache = Collections
+		.synchronizedMap(new LinkedHashMap<String, CachedParameters>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedParameters> eldest) {
+				return size() > MAX_CACHE_SIZE;
+			}
+		});
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	private Executor refreshExecutor;
+
 	public AwsParameterStoreEnvironmentRepository(SsmClient awsSsmClient, ConfigServerProperties configServerProperties,
 			AwsParameterStoreEnvironmentProperties environmentProperties) {
 		this.awsSsmClient = awsSsmClient;
 		this.configServerProperties = configServerProperties;
 		this.environmentProperties = environmentProperties;
 		this.order = environmentProperties.getOrder();
+		this.taskRunner = new ConcurrentTaskRunner("awsparamstore-read-", environmentProperties.getConcurrency());
+		this.refreshExecutor = this.taskRunner::execute;
+	}
+
+	void setRefreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
 	}
 
 	@Override
@@ -124,9 +156,12 @@ public class AwsParameterStoreEnvironmentRepository implements EnvironmentReposi
 	private List<PropertySource> getPropertySources(Set<String> parameterPaths) {
 		List<PropertySource> result = new ArrayList<>();
 
-		for (String path : parameterPaths) {
-			String name = environmentProperties.getOrigin() + path;
-			Map<String, String> source = getPropertiesByParameterPath(path);
+		List<String> paths = new ArrayList<>(parameterPaths);
+		List<Map<String, String>> sources = getPropertiesByParameterPaths(paths);
+
+		for (int i = 0; i < paths.size(); i++) {
+			String name = environmentProperties.getOrigin() + paths.get(i);
+			Map<String, String> source = sources.get(i);
 
 			if (!source.isEmpty()) {
 				result.add(new PropertySource(name, source));
@@ -142,6 +177,60 @@ public class AwsParameterStoreEnvironmentRepository implements EnvironmentReposi
 		return result;
 	}
 
+	private List<Map<String, String>> getPropertiesByParameterPaths(List<String> paths) {
+		List<Callable<Map<String, String>>> reads = new ArrayList<>(paths.size());
+		for (String path : paths) {
+			reads.add(() -> getCachedPropertiesByParameterPath(path));
+		}
+		return taskRunner.invokeAll(reads);
+	}
+
+	private Map<String, String> getCachedPropertiesByParameterPath(String path) {
+		long ttl = environmentProperties.getCacheTtl().toNanos();
+		if (ttl <= 0) {
+			return getPropertiesByParameterPath(path);
+		}
+
+		CachedParameters cached = cache.get(path);
+		if (cached != null) {
+			long age = System.nanoTime() - cached.loaded();
+			if (age < ttl) {
+				return new HashMap<>(cached.properties());
+			}
+			if (age < ttl + environmentProperties.getCacheStaleWhileRevalidate().toNanos()) {
+				refresh(path);
+				return new HashMap<>(cached.properties());
+			}
+		}
+
+		return new HashMap<>(load(path));
+	}
+
+	private void refresh(String path) {
+		if (!refreshing.add(path)) {
+			return;
+		}
+		refreshExecutor.execute(() -> {
+			try {
+				load(path);
+			}
+			catch (RuntimeException e) {
+				logger.warn("Could not refresh AWS parameters of path " + path + ", serving cached values: "
+						+ e.getMessage());
+			}
+			finally {
+				refreshing.remove(path);
+			}
+		});
+	}
+
+	private Map<String, String> load(String path) {
+		long loaded = System.nanoTime();
+		Map<String, String> properties = getPropertiesByParameterPath(path);
+		cache.put(path, new CachedParameters(properties, loaded));
+		return properties;
+	}
+
 	private Map<String, String> getPropertiesByParameterPath(String path) {
 		Map<String, String> result = new HashMap<>();
 
@@ -181,4 +270,12 @@ public class AwsParameterStoreEnvironmentRepository implements EnvironmentReposi
 		return order;
 	}
 
+	@Override
+	public void destroy() {
+		taskRunner.destroy();
+	}
+
+	private record CachedParameters(Map<String, String> properties, long loaded) {
+	}
+
 }
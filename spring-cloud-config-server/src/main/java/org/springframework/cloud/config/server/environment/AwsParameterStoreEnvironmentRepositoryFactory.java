@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.SsmClientBuilder;
 
@@ -41,6 +42,10 @@ public class AwsParameterStoreEnvironmentRepositoryFactory implements
 
 		configureClientBuilder(clientBuilder, environmentProperties.getRegion(), environmentProperties.getEndpoint());
 
+		if (environmentProperties.isAdaptiveRetry()) {
+			clientBuilder.overrideConfiguration(configuration -> configuration.retryStrategy(RetryMode.ADAPTIVE_V2));
+		}
+
 		SsmClient client = clientBuilder.build();
 
 		return new AwsParameterStoreEnvironmentRepository(client, configServerProperties, environmentProperties);
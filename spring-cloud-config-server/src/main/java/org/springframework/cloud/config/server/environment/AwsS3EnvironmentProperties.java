@@ -16,16 +16,22 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
+import jakarta.validation.constraints.Min;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.config.server.support.EnvironmentRepositoryProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
 
 /**
  * @author Clay McCoy
  * @author Geonwook Ham
  */
+@Validated
 @ConfigurationProperties("spring.cloud.config.server.awss3")
 public class AwsS3EnvironmentProperties implements EnvironmentRepositoryProperties {
 
@@ -58,6 +64,38 @@ public class AwsS3EnvironmentProperties implements EnvironmentRepositoryProperti
 	 */
 	private List<String> searchPaths = Collections.emptyList();
 
+	/**
+	 * Flag to indicate that the keys of the bucket should be listed and kept in an index,
+	 * so that only objects that exist are requested. Objects added to the bucket are
+	 * found once the index is refreshed.
+	 */
+	private boolean indexEnabled;
+
+	/**
+	 * Prefix of the keys to keep in the index, so that only part of the bucket is listed.
+	 * Keys outside of it are requested directly. By default the whole bucket is indexed.
+	 */
+	private String indexPrefix;
+
+	/**
+	 * Time after which the key index is refreshed by listing the bucket again.
+	 */
+	private Duration indexRefreshInterval = Duration.ofSeconds(60);
+
+	/**
+	 * Maximum total size of the objects whose parsed content is cached. Cached objects
+	 * are revalidated with a conditional request on every use. A size of zero disables
+	 * the cache.
+	 */
+	private DataSize cacheMaxSize = DataSize.ofBytes(0);
+
+	/**
+	 * The maximum number of objects fetched concurrently for a request. Defaults to "1",
+	 * which fetches the objects one after the other.
+	 */
+	@Min(1)
+	private int concurrency = 1;
+
 	public List<String> getSearchPaths() {
 		return searchPaths;
 	}
@@ -98,6 +136,46 @@ public class AwsS3EnvironmentProperties implements EnvironmentRepositoryProperti
 		this.useDirectoryLayout = useDirectoryLayout;
 	}
 
+	public boolean isIndexEnabled() {
+		return indexEnabled;
+	}
+
+	public void setIndexEnabled(boolean indexEnabled) {
+		this.indexEnabled = indexEnabled;
+	}
+
+	public String getIndexPrefix() {
+		return indexPrefix;
+	}
+
+	public void setIndexPrefix(String indexPrefix) {
+		this.indexPrefix = indexPrefix;
+	}
+
+	public Duration getIndexRefreshInterval() {
+		return indexRefreshInterval;
+	}
+
+	public void setIndexRefreshInterval(Duration indexRefreshInterval) {
+		this.indexRefreshInterval = indexRefreshInterval;
+	}
+
+	public DataSize getCacheMaxSize() {
+		return cacheMaxSize;
+	}
+
+	public void setCacheMaxSize(DataSize cacheMaxSize) {
+		this.cacheMaxSize = cacheMaxSize;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
 	public int getOrder() {
 		return order;
 	}
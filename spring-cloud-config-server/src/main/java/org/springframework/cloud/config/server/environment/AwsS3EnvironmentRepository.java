@@ -16,7 +16,6 @@
 
 package org.springframework.cloud.config.server.environment;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,29 +25,24 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
-import software.amazon.awssdk.services.s3.model.S3Exception;
-import software.amazon.awssdk.services.s3.model.S3Object;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.YamlProcessor;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.config.ConfigServerProperties;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.env.Profiles;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
@@ -62,7 +56,8 @@ import static org.springframework.cloud.config.server.environment.AwsS3Environme
  * @author Daniel Aiken
  * @author Geonwook Ham
  */
-public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordered, SearchPathLocator {
+public class AwsS3EnvironmentRepository
+		implements EnvironmentRepository, Ordered, SearchPathLocator, DisposableBean {
 
 	private final PathMatcher pathMatcher = new AntPathMatcher();
 
@@ -76,7 +71,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 
 	private static final List<String> EMPTY_EXTENSION = List.of("");
 
-	private final S3Client s3Client;
+	private final AwsS3ObjectReader reader;
 
 	private final String bucketName;
 
@@ -88,6 +83,8 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 
 	private final List<String> searchPaths;
 
+	private final ConcurrentTaskRunner taskRunner;
+
 	public AwsS3EnvironmentRepository(S3Client s3Client, String bucketName, ConfigServerProperties server) {
 		this(s3Client, bucketName, false, server);
 	}
@@ -99,19 +96,36 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 
 	public AwsS3EnvironmentRepository(S3Client s3Client, String bucketName, boolean useApplicationAsDirectory,
 			ConfigServerProperties server, List<String> searchPaths) {
-		this.s3Client = s3Client;
-		this.bucketName = bucketName;
-		this.serverProperties = server;
-		this.useApplicationAsDirectory = useApplicationAsDirectory;
-		this.searchPaths = (searchPaths == null ? Collections.emptyList() : searchPaths);
+		this(new AwsS3ObjectReader(s3Client, bucketName), useApplicationAsDirectory, server, searchPaths,
+				new ConcurrentTaskRunner("awss3-read-", 1));
 	}
 
 	public AwsS3EnvironmentRepository(S3Client s3Client, AwsS3EnvironmentProperties properties,
 			ConfigServerProperties server) {
-		this(s3Client, properties.getBucket(), properties.isUseDirectoryLayout(), server, properties.getSearchPaths());
+		this(new AwsS3ObjectReader(s3Client, properties.getBucket(), createIndex(s3Client, properties),
+				properties.getCacheMaxSize().toBytes()), properties.isUseDirectoryLayout(), server,
+				properties.getSearchPaths(), new ConcurrentTaskRunner("awss3-read-", properties.getConcurrency()));
 		this.order = properties.getOrder();
 	}
 
+	AwsS3EnvironmentRepository(AwsS3ObjectReader reader, boolean useApplicationAsDirectory,
+			ConfigServerProperties server, List<String> searchPaths, ConcurrentTaskRunner taskRunner) {
+		this.reader = reader;
+		this.bucketName = reader.getBucketName();
+		this.serverProperties = server;
+		this.useApplicationAsDirectory = useApplicationAsDirectory;
+		this.searchPaths = (searchPaths == null ? Collections.emptyList() : searchPaths);
+		this.taskRunner = taskRunner;
+	}
+
+	private static AwsS3KeyIndex createIndex(S3Client s3Client, AwsS3EnvironmentProperties properties) {
+		if (!properties.isIndexEnabled()) {
+			return null;
+		}
+		return new AwsS3KeyIndex(s3Client, properties.getBucket(), properties.getIndexPrefix(),
+				properties.getIndexRefreshInterval());
+	}
+
 	@Override
 	public int getOrder() {
 		return this.order;
@@ -121,6 +135,11 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		this.order = order;
 	}
 
+	@Override
+	public void destroy() {
+		this.taskRunner.destroy();
+	}
+
 	@Override
 	public Environment findOne(String specifiedApplication, String specifiedProfiles, String specifiedLabel) {
 		final String application = ObjectUtils.isEmpty(specifiedApplication)
@@ -160,23 +179,21 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 
 	private void addPropertySources(Environment environment, List<String> apps, String[] profiles,
 			List<String> labels) {
+		List<Supplier<List<S3ConfigFile>>> lookups = new ArrayList<>();
 		for (String label : labels) {
 			for (String profile : profiles) {
-				addPropertySourcesForApps(apps,
-						app -> addProfileSpecificPropertySource(environment, app, profile, label));
+				addLookupsForApps(lookups, apps, app -> getProfileSpecificConfigFiles(app, profile, label));
 			}
 		}
 
 		// If we have no profiles just add property sources for all apps
 		if (profiles.length == 0) {
 			for (String label : labels) {
-				addPropertySourcesForApps(apps,
-						app -> addNonProfileSpecificPropertySource(environment, app, null, label));
+				addLookupsForApps(lookups, apps, app -> getNonProfileSpecificConfigFiles(app, null, label));
 				// Even with no profiles, negated profile documents (e.g. on-profile:
 				// "!my-profile") should be included because no profile is active,
 				// so all negations are satisfied
-				addPropertySourcesForApps(apps,
-						app -> addNegatedProfilePropertySource(environment, app, profiles, label));
+				addLookupsForApps(lookups, apps, app -> getNegatedProfileConfigFiles(app, profiles, label));
 			}
 		}
 		else {
@@ -189,28 +206,37 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 				// files have profile specific documents
 				// within them
 				for (String profile : profiles) {
-					addPropertySourcesForApps(apps,
-							app -> addNonProfileSpecificPropertySource(environment, app, profile, label));
+					addLookupsForApps(lookups, apps, app -> getNonProfileSpecificConfigFiles(app, profile, label));
 				}
 				// Handle documents with negated profile expressions (e.g. on-profile:
 				// "!my-profile")
 				// once per label rather than once per profile to avoid duplicates
-				addPropertySourcesForApps(apps,
-						app -> addNegatedProfilePropertySource(environment, app, profiles, label));
+				addLookupsForApps(lookups, apps, app -> getNegatedProfileConfigFiles(app, profiles, label));
 			}
 		}
+
+		for (List<S3ConfigFile> s3ConfigFiles : getConfigFiles(lookups)) {
+			addPropertySource(environment, s3ConfigFiles);
+		}
 	}
 
-	private void addPropertySourcesForApps(List<String> apps, Consumer<String> addPropertySource) {
-		apps.forEach(addPropertySource);
+	private void addLookupsForApps(List<Supplier<List<S3ConfigFile>>> lookups, List<String> apps,
+			Function<String, List<S3ConfigFile>> lookup) {
+		apps.forEach(app -> lookups.add(() -> lookup.apply(app)));
 	}
 
-	private void addNegatedProfilePropertySource(Environment environment, String app, String[] allProfiles,
-			String label) {
-		List<S3ConfigFile> s3ConfigFiles = this.searchPaths.isEmpty()
-				? getNegatedProfileS3ConfigFileYaml(app, allProfiles, label) : getS3ConfigFileWithSearchPaths(app, null,
-						label, key -> wrapKeyWithNegatedConfigFiles(key, app, allProfiles, label));
-		addPropertySource(environment, s3ConfigFiles);
+	private List<List<S3ConfigFile>> getConfigFiles(List<Supplier<List<S3ConfigFile>>> lookups) {
+		List<Callable<List<S3ConfigFile>>> reads = new ArrayList<>(lookups.size());
+		for (Supplier<List<S3ConfigFile>> lookup : lookups) {
+			reads.add(lookup::get);
+		}
+		return taskRunner.invokeAll(reads);
+	}
+
+	private List<S3ConfigFile> getNegatedProfileConfigFiles(String app, String[] allProfiles, String label) {
+		return this.searchPaths.isEmpty() ? getNegatedProfileS3ConfigFileYaml(app, allProfiles, label)
+				: getS3ConfigFileWithSearchPaths(app, null, label,
+						key -> wrapKeyWithNegatedConfigFiles(key, app, allProfiles, label));
 	}
 
 	private List<S3ConfigFile> getNegatedProfileS3ConfigFileYaml(String application, String[] allProfiles,
@@ -218,7 +244,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		List<S3ConfigFile> configFiles = new ArrayList<>();
 		try {
 			S3ConfigFile configFile = new NegatedProfileYamlDocumentS3ConfigFile(application, label, bucketName,
-					useApplicationAsDirectory, s3Client, allProfiles);
+					useApplicationAsDirectory, reader, allProfiles);
 			configFiles.add(configFile);
 		}
 		catch (IllegalStateException e) {
@@ -233,21 +259,18 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		return configFiles;
 	}
 
-	private void addProfileSpecificPropertySource(Environment environment, String app, String profile, String label) {
-		List<S3ConfigFile> s3ConfigFiles = searchPaths.isEmpty()
+	private List<S3ConfigFile> getProfileSpecificConfigFiles(String app, String profile, String label) {
+		return searchPaths.isEmpty()
 				? getS3ConfigFile(app, profile, label, this::getS3PropertiesOrJsonConfigFile,
 						this::getProfileSpecificS3ConfigFileYaml)
 				: getS3ConfigFileWithSearchPaths(app, profile, label,
 						key -> wrapKeyWithConfigFiles(key, app, profile, label));
-		addPropertySource(environment, s3ConfigFiles);
 	}
 
-	private void addNonProfileSpecificPropertySource(Environment environment, String app, String profile,
-			String label) {
-		List<S3ConfigFile> s3ConfigFiles = searchPaths.isEmpty() ? getS3ConfigFile(app, profile, label,
+	private List<S3ConfigFile> getNonProfileSpecificConfigFiles(String app, String profile, String label) {
+		return searchPaths.isEmpty() ? getS3ConfigFile(app, profile, label,
 				this::getNonProfileSpecificPropertiesOrJsonConfigFile, this::getNonProfileSpecificS3ConfigFileYaml)
 				: Collections.emptyList();
-		addPropertySource(environment, s3ConfigFiles);
 	}
 
 	private void addPropertySource(Environment environment, List<S3ConfigFile> s3ConfigFiles) {
@@ -366,66 +389,37 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 
 	private boolean probeKeyAndAddResult(String key, List<S3ConfigFile> result,
 			Function<String, List<S3ConfigFile>> keyWrapper) {
-		try {
-			s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build());
-			result.addAll(keyWrapper.apply(key));
-			return true;
-		}
-		catch (S3Exception e) {
-			int status = e.statusCode();
-			if (status != 404 && status != 403) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Error checking S3 object key: " + key, e);
-				}
-				throw e;
-			}
+		if (!reader.exists(key)) {
 			return false;
 		}
+		result.addAll(keyWrapper.apply(key));
+		return true;
 	}
 
 	private void scanDirectoryPattern(String pattern, Set<String> seenKeys, List<S3ConfigFile> result,
 			Function<String, List<S3ConfigFile>> keyWrapper) {
 		String dirPrefix = pattern.endsWith("/") ? pattern : pattern + "/";
-		String token = null;
-		do {
-			ListObjectsV2Response resp = s3Client.listObjectsV2(ListObjectsV2Request.builder()
-				.bucket(bucketName)
-				.prefix(dirPrefix)
-				.continuationToken(token)
-				.build());
-			for (S3Object obj : resp.contents()) {
-				String key = obj.key();
-				if (!hasSupportedExtension(key)) {
-					continue;
-				}
-				else if (seenKeys.add(key)) {
-					result.addAll(keyWrapper.apply(key));
-				}
+		for (String key : reader.listKeys(dirPrefix)) {
+			if (!hasSupportedExtension(key)) {
+				continue;
+			}
+			else if (seenKeys.add(key)) {
+				result.addAll(keyWrapper.apply(key));
 			}
-			token = resp.nextContinuationToken();
 		}
-		while (token != null);
 	}
 
 	private void scanWildcardPattern(String pattern, Set<String> seenKeys, List<S3ConfigFile> result,
 			Function<String, List<S3ConfigFile>> keyWrapper) {
 		String prefix = extractPrefix(pattern);
-		String token = null;
-		do {
-			ListObjectsV2Response resp = s3Client.listObjectsV2(
-					ListObjectsV2Request.builder().bucket(bucketName).prefix(prefix).continuationToken(token).build());
-			for (S3Object obj : resp.contents()) {
-				String key = obj.key();
-				if (!pathMatcher.match(pattern, key) || !hasSupportedExtension(key)) {
-					continue;
-				}
-				else if (seenKeys.add(key)) {
-					result.addAll(keyWrapper.apply(key));
-				}
+		for (String key : reader.listKeys(prefix)) {
+			if (!pathMatcher.match(pattern, key) || !hasSupportedExtension(key)) {
+				continue;
+			}
+			else if (seenKeys.add(key)) {
+				result.addAll(keyWrapper.apply(key));
 			}
-			token = resp.nextContinuationToken();
 		}
-		while (token != null);
 	}
 
 	private boolean hasSupportedExtension(String key) {
@@ -448,7 +442,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 			String label) {
 
 		S3ConfigFileFromKey config = new S3ConfigFileFromKey(key, application, profile, label, bucketName,
-				useApplicationAsDirectory, s3Client,
+				useApplicationAsDirectory, reader,
 				properties -> YamlS3ConfigFile.profileMatchesActivateProperty(profile, properties)
 						? YamlProcessor.MatchStatus.FOUND : YamlProcessor.MatchStatus.NOT_FOUND);
 		config.setShouldIncludeWithEmptyProperties(false);
@@ -459,7 +453,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 			String label) {
 
 		S3ConfigFileFromKey config = new S3ConfigFileFromKey(key, application, profile, label, bucketName,
-				useApplicationAsDirectory, s3Client, properties -> !YamlS3ConfigFile.onProfilePropertyExists(properties)
+				useApplicationAsDirectory, reader, properties -> !YamlS3ConfigFile.onProfilePropertyExists(properties)
 						? YamlProcessor.MatchStatus.FOUND : YamlProcessor.MatchStatus.NOT_FOUND);
 		return List.of(config);
 	}
@@ -490,7 +484,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		String ext = key.substring(key.lastIndexOf('.') + 1);
 		if (SUPPORTED_EXTENSIONS.contains("." + ext.toLowerCase(Locale.ROOT))) {
 			return Optional.of(new S3ConfigFileFromKey(key, application, profile, label, bucketName,
-					useApplicationAsDirectory, s3Client));
+					useApplicationAsDirectory, reader));
 		}
 		return Optional.empty();
 	}
@@ -501,7 +495,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		if (profile != null) {
 			try {
 				YamlS3ConfigFile configFileDocument = new ProfileSpecificYamlDocumentS3ConfigFile(application, profile,
-						label, bucketName, useApplicationAsDirectory, s3Client);
+						label, bucketName, useApplicationAsDirectory, reader);
 				configFileDocument.setShouldIncludeWithEmptyProperties(false);
 				configFiles.add(configFileDocument);
 			}
@@ -514,7 +508,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		}
 		try {
 			YamlS3ConfigFile configFile = new NonProfileSpecificYamlDocumentS3ConfigFile(application, null, label,
-					bucketName, useApplicationAsDirectory, s3Client);
+					bucketName, useApplicationAsDirectory, reader);
 			configFiles.add(configFile);
 		}
 		catch (Exception e) {
@@ -531,7 +525,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 			String label) {
 		try {
 			YamlS3ConfigFile configFile = new ProfileSpecificYamlS3ConfigFile(application, profile, label, bucketName,
-					useApplicationAsDirectory, s3Client);
+					useApplicationAsDirectory, reader);
 			return List.of(configFile);
 		}
 		catch (Exception e) {
@@ -551,7 +545,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 		}
 		try {
 			return new PropertyS3ConfigFile(application, profile, label, bucketName, useApplicationAsDirectory,
-					s3Client);
+					reader);
 		}
 		catch (Exception propertyException) {
 			if (LOG.isDebugEnabled()) {
@@ -560,7 +554,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 			}
 			try {
 				return new JsonS3ConfigFile(application, profile, label, bucketName, useApplicationAsDirectory,
-						s3Client);
+						reader);
 			}
 			catch (Exception jsonException) {
 				if (LOG.isDebugEnabled()) {
@@ -576,7 +570,7 @@ public class AwsS3EnvironmentRepository implements EnvironmentRepository, Ordere
 			String label) {
 		if (key.endsWith(".yml") || key.endsWith(".yaml")) {
 			S3ConfigFileFromKey config = new S3ConfigFileFromKey(key, application, null, label, bucketName,
-					this.useApplicationAsDirectory, s3Client, properties -> {
+					this.useApplicationAsDirectory, reader, properties -> {
 						Object onProfileValue = properties.get("spring.config.activate.on-profile");
 						if (onProfileValue == null) {
 							onProfileValue = properties.get("spring.config.activate.onProfile");
@@ -644,7 +638,7 @@ abstract class S3ConfigFile {
 
 	protected String bucketName;
 
-	protected S3Client s3Client;
+	protected AwsS3ObjectReader reader;
 
 	protected Properties properties;
 
@@ -655,12 +649,12 @@ abstract class S3ConfigFile {
 	private final boolean useApplicationAsDirectory;
 
 	protected S3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
 		this.application = application;
 		this.profile = profile;
 		this.label = label;
 		this.bucketName = bucketName;
-		this.s3Client = s3Client;
+		this.reader = reader;
 		this.useApplicationAsDirectory = useApplicationAsDirectory;
 	}
 
@@ -682,7 +676,7 @@ abstract class S3ConfigFile {
 		return createPropertySourceName(application, profile);
 	}
 
-	protected ResponseInputStream<GetObjectResponse> getObject() throws Exception {
+	protected List<Properties> getDocuments(AwsS3ObjectReader.Format format) throws Exception {
 		assert (getExtensions() != null && !getExtensions().isEmpty());
 		List<String> extensions = getExtensions();
 		for (int i = 0; i < extensions.size(); i++) {
@@ -691,10 +685,9 @@ abstract class S3ConfigFile {
 				LOG.debug("Getting object with key " + key);
 			}
 			try {
-				ResponseInputStream<GetObjectResponse> inputStream = s3Client
-					.getObject(GetObjectRequest.builder().bucket(bucketName).key(key).build());
-				this.version = inputStream.response().versionId();
-				return inputStream;
+				AwsS3ObjectReader.ParsedObject object = reader.read(key, format);
+				this.version = object.versionId();
+				return object.documents();
 			}
 			catch (Exception e) {
 				if (i < extensions.size() - 1) {
@@ -710,6 +703,44 @@ abstract class S3ConfigFile {
 		return null;
 	}
 
+	protected Properties readProperties() throws Exception {
+		Properties props = new Properties();
+		props.putAll(getDocuments(AwsS3ObjectReader.Format.PROPERTIES).get(0));
+		return props;
+	}
+
+	/**
+	 * Merges the YAML documents that are accepted by the matchers, in the same way as
+	 * {@link YamlPropertiesFactoryBean}, so that cached documents can be matched again.
+	 * @param documentMatchers the matchers for the documents
+	 * @return the merged properties
+	 * @throws Exception if the object cannot be read
+	 */
+	protected Properties readYaml(YamlProcessor.DocumentMatcher... documentMatchers) throws Exception {
+		Properties result = CollectionFactory.createStringAdaptingProperties();
+		for (Properties document : getDocuments(AwsS3ObjectReader.Format.YAML)) {
+			if (matches(document, documentMatchers)) {
+				result.putAll(document);
+			}
+		}
+		return result;
+	}
+
+	private static boolean matches(Properties document, YamlProcessor.DocumentMatcher... documentMatchers) {
+		if (documentMatchers.length == 0) {
+			return true;
+		}
+		YamlProcessor.MatchStatus result = YamlProcessor.MatchStatus.ABSTAIN;
+		for (YamlProcessor.DocumentMatcher matcher : documentMatchers) {
+			YamlProcessor.MatchStatus match = matcher.matches(document);
+			result = YamlProcessor.MatchStatus.getMostSpecific(match, result);
+			if (match == YamlProcessor.MatchStatus.FOUND) {
+				return true;
+			}
+		}
+		return result == YamlProcessor.MatchStatus.ABSTAIN;
+	}
+
 	protected abstract List<String> getExtensions();
 
 	protected String buildObjectKeyPrefix() {
@@ -747,8 +778,8 @@ abstract class S3ConfigFile {
 class PropertyS3ConfigFile extends S3ConfigFile {
 
 	PropertyS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client);
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader);
 		this.properties = read();
 	}
 
@@ -757,15 +788,13 @@ class PropertyS3ConfigFile extends S3ConfigFile {
 		if (this.properties != null) {
 			return this.properties;
 		}
-		Properties props = new Properties();
-		try (InputStream in = getObject()) {
-			props.load(in);
+		try {
+			return readProperties();
 		}
 		catch (Exception e) {
 			LOG.warn("Exception thrown when reading property file", e);
 			throw new IllegalStateException("Cannot load environment", e);
 		}
-		return props;
 	}
 
 	@Override
@@ -780,15 +809,15 @@ class YamlS3ConfigFile extends S3ConfigFile {
 	final YamlProcessor.DocumentMatcher[] documentMatchers;
 
 	YamlS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		this(application, profile, label, bucketName, useApplicationAsDirectory, s3Client,
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		this(application, profile, label, bucketName, useApplicationAsDirectory, reader,
 				new YamlProcessor.DocumentMatcher[] {});
 	}
 
 	YamlS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client,
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader,
 			final YamlProcessor.DocumentMatcher... documentMatchers) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client);
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader);
 		this.documentMatchers = documentMatchers;
 		this.properties = read();
 	}
@@ -811,11 +840,8 @@ class YamlS3ConfigFile extends S3ConfigFile {
 		if (properties != null) {
 			return properties;
 		}
-		final YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
-		try (InputStream in = getObject()) {
-			yaml.setResources(new InputStreamResource(in));
-			yaml.setDocumentMatchers(documentMatchers);
-			return yaml.getObject();
+		try {
+			return readYaml(documentMatchers);
 		}
 		catch (Exception e) {
 			LOG.warn("Could not read YAML file", e);
@@ -833,8 +859,8 @@ class YamlS3ConfigFile extends S3ConfigFile {
 class ProfileSpecificYamlDocumentS3ConfigFile extends YamlS3ConfigFile {
 
 	ProfileSpecificYamlDocumentS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client,
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader,
 				properties -> profileMatchesActivateProperty(profile, properties) ? YamlProcessor.MatchStatus.FOUND
 						: YamlProcessor.MatchStatus.NOT_FOUND);
 	}
@@ -854,8 +880,8 @@ class ProfileSpecificYamlDocumentS3ConfigFile extends YamlS3ConfigFile {
 class NonProfileSpecificYamlDocumentS3ConfigFile extends YamlS3ConfigFile {
 
 	NonProfileSpecificYamlDocumentS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client,
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader,
 				properties -> !onProfilePropertyExists(properties) ? YamlProcessor.MatchStatus.FOUND
 						: YamlProcessor.MatchStatus.NOT_FOUND);
 	}
@@ -865,8 +891,8 @@ class NonProfileSpecificYamlDocumentS3ConfigFile extends YamlS3ConfigFile {
 class ProfileSpecificYamlS3ConfigFile extends YamlS3ConfigFile {
 
 	ProfileSpecificYamlS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client,
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader,
 				properties -> !onProfilePropertyExists(properties) ? YamlProcessor.MatchStatus.ABSTAIN
 						: profileMatchesActivateProperty(profile, properties) ? YamlProcessor.MatchStatus.FOUND
 								: YamlProcessor.MatchStatus.NOT_FOUND);
@@ -879,8 +905,8 @@ class JsonS3ConfigFile extends YamlS3ConfigFile {
 	// YAML is a superset of JSON, which means you can parse JSON with a YAML parser
 
 	JsonS3ConfigFile(String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client);
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader);
 		this.properties = read();
 	}
 
@@ -898,13 +924,14 @@ class S3ConfigFileFromKey extends S3ConfigFile {
 	private final YamlProcessor.DocumentMatcher[] documentMatchers;
 
 	S3ConfigFileFromKey(String key, String application, String profile, String label, String bucketName,
-			S3Client s3Client) {
-		this(key, application, profile, label, bucketName, false, s3Client, new YamlProcessor.DocumentMatcher[] {});
+			AwsS3ObjectReader reader) {
+		this(key, application, profile, label, bucketName, false, reader, new YamlProcessor.DocumentMatcher[] {});
 	}
 
 	S3ConfigFileFromKey(String key, String application, String profile, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client, YamlProcessor.DocumentMatcher... documentMatchers) {
-		super(application, profile, label, bucketName, useApplicationAsDirectory, s3Client);
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader,
+			YamlProcessor.DocumentMatcher... documentMatchers) {
+		super(application, profile, label, bucketName, useApplicationAsDirectory, reader);
 		this.key = key;
 		this.documentMatchers = documentMatchers;
 		this.properties = read();
@@ -932,22 +959,17 @@ class S3ConfigFileFromKey extends S3ConfigFile {
 		}
 		String ext = key.substring(key.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
 		if ("properties".equals(ext)) {
-			Properties props = new Properties();
-			try (InputStream in = getObject()) {
-				props.load(in);
+			try {
+				return readProperties();
 			}
 			catch (Exception e) {
 				LOG.warn("Exception thrown when reading property file", e);
 				throw new IllegalStateException("Cannot load environment", e);
 			}
-			return props;
 		}
 		else if ("json".equals(ext) || "yml".equals(ext) || "yaml".equals(ext)) {
-			final YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
-			try (InputStream in = getObject()) {
-				yaml.setResources(new InputStreamResource(in));
-				yaml.setDocumentMatchers(documentMatchers);
-				return yaml.getObject();
+			try {
+				return readYaml(documentMatchers);
 			}
 			catch (Exception e) {
 				LOG.warn("Could not read YAML/JSON file", e);
@@ -962,8 +984,8 @@ class S3ConfigFileFromKey extends S3ConfigFile {
 class NegatedProfileYamlDocumentS3ConfigFile extends YamlS3ConfigFile {
 
 	NegatedProfileYamlDocumentS3ConfigFile(String application, String label, String bucketName,
-			boolean useApplicationAsDirectory, S3Client s3Client, String[] allProfiles) {
-		super(application, null, label, bucketName, useApplicationAsDirectory, s3Client, properties -> {
+			boolean useApplicationAsDirectory, AwsS3ObjectReader reader, String[] allProfiles) {
+		super(application, null, label, bucketName, useApplicationAsDirectory, reader, properties -> {
 			Object onProfileValue = properties.get("spring.config.activate.on-profile");
 			if (onProfileValue == null) {
 				onProfileValue = properties.get("spring.config.activate.onProfile");
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.environment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Index of the keys of an S3 bucket and the ETags of their objects. The bucket is listed
+ * on first use and again when the index is older than the refresh interval. A single
+ * caller performs the refresh while the others keep using the previous index. When a
+ * prefix is set, only the keys starting with it are listed and indexed.
+ */
+class AwsS3KeyIndex {
+
+	private static final Log LOG = LogFactory.getLog(AwsS3KeyIndex.class);
+
+	private final S3Client s3Client;
+
+	private final String bucketName;
+
+	private final String prefix;
+
+	private final Duration refreshInterval;
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	AwsS3KeyIndex(S3Client s3Client, String bucketName, String prefix, Duration refreshInterval) {
+		this.s3Client = s3Client;
+		this.bucketName = bucketName;
+		this.prefix = (prefix == null ? "" : prefix);
+		this.refreshInterval = refreshInterval;
+	}
+
+	/**
+	 * Whether the given key or key prefix is within the indexed part of the bucket.
+	 * @param key the key or key prefix
+	 * @return true if the index can answer lookups of the key
+	 */
+	boolean covers(String key) {
+		return key.startsWith(this.prefix);
+	}
+
+	/**
+	 * Returns the keys of the bucket mapped to the ETags of their objects.
+	 * @return the keys in lexicographical order, or null if the bucket could not be
+	 * listed
+	 */
+	NavigableMap<String, String> getKeys() {
+		Snapshot current = this.snapshot.get();
+		if (current == null) {
+			synchronized (this.snapshot) {
+				current = this.snapshot.get();
+				if (current == null) {
+					current = load(null);
+				}
+			}
+		}
+		else if (System.nanoTime() - current.loaded() >= this.refreshInterval.toNanos()
+				&& this.refreshing.compareAndSet(false, true)) {
+			try {
+				current = load(current);
+			}
+			finally {
+				this.refreshing.set(false);
+			}
+		}
+		return current.keys();
+	}
+
+	private Snapshot load(Snapshot previous) {
+		Snapshot loaded;
+		try {
+			NavigableMap<String, String> keys = new TreeMap<>();
+			String token = null;
+			do {
+				ListObjectsV2Response response = this.s3Client.listObjectsV2(ListObjectsV2Request.builder()
+					.bucket(this.bucketName)
+					.prefix(this.prefix.isEmpty() ? null : this.prefix)
+					.continuationToken(token)
+					.build());
+				for (S3Object object : response.contents()) {
+					keys.put(object.key(), object.eTag());
+				}
+				token = response.nextContinuationToken();
+			}
+			while (token != null);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Indexed " + keys.size() + " keys of S3 bucket " + this.bucketName
+						+ (this.prefix.isEmpty() ? "" : " under " + this.prefix));
+			}
+			loaded = new Snapshot(Collections.unmodifiableNavigableMap(keys), System.nanoTime());
+		}
+		catch (SdkException e) {
+			LOG.warn("Could not list S3 bucket " + this.bucketName + ", "
+					+ (previous == null || previous.keys() == null ? "accessing objects directly"
+							: "using the previous key index")
+					+ ": " + e.getMessage());
+			loaded = new Snapshot(previous == null ? null : previous.keys(), System.nanoTime());
+		}
+		this.snapshot.set(loaded);
+		return loaded;
+	}
+
+	private record Snapshot(NavigableMap<String, String> keys, long loaded) {
+	}
+
+}
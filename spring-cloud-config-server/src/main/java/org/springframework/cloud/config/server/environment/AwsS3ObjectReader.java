@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import org.springframework.beans.factory.config.YamlProcessor;
+import org.springframework.core.io.InputStreamResource;
+
+/**
+ * Access to the objects of the S3 bucket backing an {@link AwsS3EnvironmentRepository}.
+ * When an {@link AwsS3KeyIndex} is available, lookups of keys and prefixes it covers are
+ * answered from the index and objects that are not in the index are never requested. When a
+ * cache size is set, parsed objects are kept together with their ETag, so that unchanged
+ * objects are neither downloaded nor parsed again. A cached object whose ETag matches the
+ * one in the index is used as it is, other cached objects are revalidated with a
+ * conditional request.
+ */
+class AwsS3ObjectReader {
+
+	private static final Log LOG = LogFactory.getLog(AwsS3ObjectReader.class);
+
+	private final S3Client s3Client;
+
+	private final String bucketName;
+
+	private final AwsS3KeyIndex index;
+
+	private final long cacheMaxSize;
+
+	private final Map<CacheKey, CachedObject> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long cacheSize;
+
+	AwsS3ObjectReader(S3Client s3Client, String bucketName) {
+		this(s3Client, bucketName, null, 0);
+	}
+
+	AwsS3ObjectReader(S3Client s3Client, String bucketName, AwsS3KeyIndex index, long cacheMaxSize) {
+		this.s3Client = s3Client;
+		this.bucketName = bucketName;
+		this.index = index;
+		this.cacheMaxSize = cacheMaxSize;
+	}
+
+	String getBucketName() {
+		return this.bucketName;
+	}
+
+	boolean exists(String key) {
+		NavigableMap<String, String> keys = indexedKeys(key);
+		if (keys != null) {
+			return keys.containsKey(key);
+		}
+		try {
+			this.s3Client.headObject(HeadObjectRequest.builder().bucket(this.bucketName).key(key).build());
+			return true;
+		}
+		catch (S3Exception e) {
+			int status = e.statusCode();
+			if (status != 404 && status != 403) {
+				if (LOG.isInfoEnabled()) {
+					LOG.info("Error checking S3 object key: " + key, e);
+				}
+				throw e;
+			}
+			return false;
+		}
+	}
+
+	List<String> listKeys(String prefix) {
+		List<String> result = new ArrayList<>();
+		NavigableMap<String, String> keys = indexedKeys(prefix);
+		if (keys != null) {
+			for (String key : keys.tailMap(prefix, true).keySet()) {
+				if (!key.startsWith(prefix)) {
+					break;
+				}
+				result.add(key);
+			}
+			return result;
+		}
+		String token = null;
+		do {
+			ListObjectsV2Response resp = this.s3Client.listObjectsV2(ListObjectsV2Request.builder()
+				.bucket(this.bucketName)
+				.prefix(prefix)
+				.continuationToken(token)
+				.build());
+			for (S3Object obj : resp.contents()) {
+				result.add(obj.key());
+			}
+			token = resp.nextContinuationToken();
+		}
+		while (token != null);
+		return result;
+	}
+
+	/**
+	 * Reads and parses the object with the given key, or returns the parsed object from
+	 * the cache if its ETag has not changed.
+	 * @param key the object key
+	 * @param format the format of the object
+	 * @return the version of the object and its documents, which must not be modified
+	 * @throws IOException if the object cannot be read
+	 */
+	ParsedObject read(String key, Format format) throws IOException {
+		NavigableMap<String, String> keys = indexedKeys(key);
+		if (keys != null && !keys.containsKey(key)) {
+			throw NoSuchKeyException.builder()
+				.statusCode(404)
+				.message("Key " + key + " is not in the index of bucket " + this.bucketName)
+				.build();
+		}
+		CacheKey cacheKey = new CacheKey(key, format);
+		CachedObject cached = getCached(cacheKey);
+		if (cached != null && keys != null && cached.eTag().equals(keys.get(key))) {
+			return cached.object();
+		}
+		GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(this.bucketName).key(key);
+		if (cached != null) {
+			request.ifNoneMatch(cached.eTag());
+		}
+		try (ResponseInputStream<GetObjectResponse> in = this.s3Client.getObject(request.build())) {
+			GetObjectResponse response = in.response();
+			ParsedObject object = new ParsedObject(response.versionId(), parse(in, format));
+			if (this.cacheMaxSize > 0 && response.eTag() != null && response.contentLength() != null) {
+				cache(cacheKey, new CachedObject(object, response.eTag(), response.contentLength()));
+			}
+			return object;
+		}
+		catch (S3Exception e) {
+			if (cached != null && e.statusCode() == 304) {
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("Object " + key + " not modified, using cached content");
+				}
+				return cached.object();
+			}
+			if (cached != null) {
+				cache(cacheKey, null);
+			}
+			throw e;
+		}
+	}
+
+	private List<Properties> parse(InputStream in, Format format) throws IOException {
+		if (format == Format.PROPERTIES) {
+			Properties properties = new Properties();
+			properties.load(in);
+			return List.of(properties);
+		}
+		return new DocumentsYamlProcessor().load(in);
+	}
+
+	private CachedObject getCached(CacheKey key) {
+		if (this.cacheMaxSize <= 0) {
+			return null;
+		}
+		synchronized (this.cache) {
+			return this.cache.get(key);
+		}
+	}
+
+	private void cache(CacheKey key, CachedObject object) {
+		synchronized (this.cache) {
+			CachedObject previous = this.cache.remove(key);
+			if (previous != null) {
+				this.cacheSize -= previous.size();
+			}
+			if (object == null || object.size() > this.cacheMaxSize) {
+				return;
+			}
+			this.cache.put(key, object);
+			this.cacheSize += object.size();
+			Iterator<CachedObject> eldest = this.cache.values().iterator();
+			while (this.cacheSize > this.cacheMaxSize && eldest.hasNext()) {
+				this.cacheSize -= eldest.next().size();
+				eldest.remove();
+			}
+		}
+	}
+
+	private NavigableMap<String, String> indexedKeys(String key) {
+		return (this.index == null || !this.index.covers(key)) ? null : this.index.getKeys();
+	}
+
+	enum Format {
+
+		/**
+		 * A Java properties file.
+		 */
+		PROPERTIES,
+
+		/**
+		 * A YAML or JSON file with one or more documents.
+		 */
+		YAML
+
+	}
+
+	record ParsedObject(String versionId, List<Properties> documents) {
+	}
+
+	private record CacheKey(String key, Format format) {
+	}
+
+	private record CachedObject(ParsedObject object, String eTag, long size) {
+	}
+
+	private static final class DocumentsYamlProcessor extends YamlProcessor {
+
+		List<Properties> load(InputStream in) {
+			setResources(new InputStreamResource(in));
+			List<Properties> documents = new ArrayList<>();
+			process((properties, map) -> documents.add(properties));
+			return documents;
+		}
+
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
+
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
@@ -85,6 +87,22 @@ public class AwsSecretsManagerEnvironmentProperties implements EnvironmentReposi
 	@NotNull
 	private String origin = DEFAULT_ORIGIN;
 
+	/**
+	 * Flag to indicate that the secrets of a request should be fetched with the
+	 * BatchGetSecretValue API, up to 20 secrets per call. Only applies to secrets
+	 * requested without a staging label or with the AWSCURRENT staging label, because the
+	 * batch API always returns the current version. Requires the
+	 * "secretsmanager:BatchGetSecretValue" permission. Defaults to "false".
+	 */
+	private boolean batch = false;
+
+	/**
+	 * Time for which a secret that was not found is not looked up again. Defaults to "0",
+	 * which disables the cache of missing secrets.
+	 */
+	@NotNull
+	private Duration missingSecretCacheTtl = Duration.ZERO;
+
 	public String getRegion() {
 		return region;
 	}
@@ -150,4 +168,20 @@ public class AwsSecretsManagerEnvironmentProperties implements EnvironmentReposi
 		this.origin = origin;
 	}
 
+	public boolean isBatch() {
+		return batch;
+	}
+
+	public void setBatch(boolean batch) {
+		this.batch = batch;
+	}
+
+	public Duration getMissingSecretCacheTtl() {
+		return missingSecretCacheTtl;
+	}
+
+	public void setMissingSecretCacheTtl(Duration missingSecretCacheTtl) {
+		this.missingSecretCacheTtl = missingSecretCacheTtl;
+	}
+
 }
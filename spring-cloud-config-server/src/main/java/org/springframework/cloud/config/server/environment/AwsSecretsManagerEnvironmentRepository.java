@@ -20,16 +20,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
 import software.amazon.awssdk.services.secretsmanager.model.InvalidRequestException;
 import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 import tools.jackson.core.type.TypeReference;
 import tools.jackson.databind.json.JsonMapper;
 
@@ -50,6 +57,19 @@ public class AwsSecretsManagerEnvironmentRepository implements EnvironmentReposi
 
 	private static final Log log = LogFactory.getLog(AwsSecretsManagerEnvironmentRepository.class);
 
+	private static final String CURRENT_VERSION_STAGE = "AWSCURRENT";
+
+	private static final int MAX_BATCH_SIZE = 20;
+
+	/**
+	 * Errors of a batch read that are skipped, as the single secret read does. Any other
+	 * error fails the request.
+	 */
+	private static final Set<String> SKIPPED_BATCH_ERRORS = Set.of("ResourceNotFoundException",
+			"InvalidRequestException");
+
+	private static final int MAX_CACHE_SIZE = 1000;
+
 	private final JsonMapper objectMapper;
 
 	private final SecretsManagerClient awsSmClient;
@@ -60,6 +80,14 @@ public class AwsSecretsManagerEnvironmentRepository implements EnvironmentReposi
 
 	private final int order;
 
+	private final Map<SecretKey, Long> missingSecrets = Collections
+		.synchronizedMap(new LinkedHashMap<SecretKey, Long>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<SecretKey, Long> eldest) {
+				return size() > MAX_CACHE_SIZE;
+			}
+		});
+
 	public AwsSecretsManagerEnvironmentRepository(SecretsManagerClient awsSmClient,
 			ConfigServerProperties configServerProperties,
 			AwsSecretsManagerEnvironmentProperties environmentProperties) {
@@ -122,27 +150,88 @@ public class AwsSecretsManagerEnvironmentRepository implements EnvironmentReposi
 			applications.add(defaultApplication);
 		}
 
+		List<SecretKey> secrets = new ArrayList<>();
 		for (String l : labels) {
 			for (String profile : reversedProfiles) {
 				for (String app : applications) {
-					addPropertySource(environment, app, profile, l);
+					secrets.add(new SecretKey(buildPath(app, profile), l));
 				}
 			}
 			for (String app : applications) {
-				addPropertySource(environment, app, null, l);
+				secrets.add(new SecretKey(buildPath(app, null), l));
+			}
+		}
+
+		Map<SecretKey, Map<Object, Object>> found = findAllProperties(secrets);
+		for (SecretKey secret : secrets) {
+			Map<Object, Object> properties = found.get(secret);
+			if (properties != null && !properties.isEmpty()) {
+				environment.add(new PropertySource(environmentProperties.getOrigin() + secret.path(), properties));
 			}
 		}
 
 		return environment;
 	}
 
-	private void addPropertySource(Environment environment, String application, String profile, String label) {
-		String path = buildPath(application, profile);
+	private Map<SecretKey, Map<Object, Object>> findAllProperties(List<SecretKey> secrets) {
+		Map<SecretKey, Map<Object, Object>> result = new HashMap<>();
+		List<SecretKey> batched = new ArrayList<>();
+
+		for (SecretKey secret : secrets) {
+			if (result.containsKey(secret) || batched.contains(secret) || isKnownMissing(secret)) {
+				continue;
+			}
+			if (environmentProperties.isBatch()
+					&& (secret.label() == null || CURRENT_VERSION_STAGE.equals(secret.label()))) {
+				batched.add(secret);
+			}
+			else {
+				result.put(secret, findProperties(secret));
+			}
+		}
 
-		Map<Object, Object> properties = findProperties(path, label);
-		if (!properties.isEmpty()) {
-			environment.add(new PropertySource(environmentProperties.getOrigin() + path, properties));
+		for (int i = 0; i < batched.size(); i += MAX_BATCH_SIZE) {
+			result.putAll(batchFindProperties(batched.subList(i, Math.min(i + MAX_BATCH_SIZE, batched.size()))));
 		}
+
+		return result;
+	}
+
+	private Map<SecretKey, Map<Object, Object>> batchFindProperties(List<SecretKey> secrets) {
+		Map<String, SecretKey> secretsById = new HashMap<>();
+		for (SecretKey secret : secrets) {
+			secretsById.put(secret.path(), secret);
+		}
+
+		BatchGetSecretValueRequest request = BatchGetSecretValueRequest.builder()
+			.secretIdList(secretsById.keySet())
+			.build();
+		BatchGetSecretValueResponse response = awsSmClient.batchGetSecretValue(request);
+
+		Map<SecretKey, Map<Object, Object>> result = new HashMap<>();
+		for (SecretValueEntry entry : response.secretValues()) {
+			SecretKey secret = secretsById.get(entry.name());
+			if (secret != null) {
+				result.put(secret, readProperties(entry.secretString()));
+			}
+		}
+		for (APIErrorType error : response.errors()) {
+			if (!SKIPPED_BATCH_ERRORS.contains(error.errorCode())) {
+				throw SecretsManagerException.builder()
+					.message(String.format("Unable to load secrets from AWS Secrets Manager for secretId=%s: %s %s",
+							error.secretId(), error.errorCode(), error.message()))
+					.build();
+			}
+			log.debug(String.format(
+					"Skip adding propertySource. Unable to load secrets from AWS Secrets Manager for secretId=%s: %s",
+					error.secretId(), error.errorCode()));
+			SecretKey secret = secretsById.get(error.secretId());
+			if (secret != null && "ResourceNotFoundException".equals(error.errorCode())) {
+				markMissing(secret);
+			}
+		}
+
+		return result;
 	}
 
 	private String buildPath(String application, String profile) {
@@ -157,35 +246,71 @@ public class AwsSecretsManagerEnvironmentRepository implements EnvironmentReposi
 		}
 	}
 
-	private Map<Object, Object> findProperties(String path, String label) {
+	private Map<Object, Object> findProperties(SecretKey secret) {
 		Map<Object, Object> properties = new HashMap<>();
 
-		GetSecretValueRequest request = GetSecretValueRequest.builder().secretId(path).versionStage(label).build();
+		GetSecretValueRequest request = GetSecretValueRequest.builder()
+			.secretId(secret.path())
+			.versionStage(secret.label())
+			.build();
 		try {
 			GetSecretValueResponse response = awsSmClient.getSecretValue(request);
 
 			if (response != null) {
-				Map<String, Object> secretMap = objectMapper.readValue(response.secretString(),
-						new TypeReference<Map<String, Object>>() {
-						});
-
-				for (Map.Entry<String, Object> secretEntry : secretMap.entrySet()) {
-					properties.put(secretEntry.getKey(), secretEntry.getValue());
-				}
+				properties = readProperties(response.secretString());
 			}
 		}
 		catch (InvalidRequestException | ResourceNotFoundException e) {
 			log.debug(String.format(
 					"Skip adding propertySource. Unable to load secrets from AWS Secrets Manager for secretId=%s",
-					path), e);
+					secret.path()), e);
+			if (e instanceof ResourceNotFoundException) {
+				markMissing(secret);
+			}
 		}
 
 		return properties;
 	}
 
+	private Map<Object, Object> readProperties(String secretString) {
+		Map<Object, Object> properties = new HashMap<>();
+
+		Map<String, Object> secretMap = objectMapper.readValue(secretString, new TypeReference<Map<String, Object>>() {
+		});
+
+		for (Map.Entry<String, Object> secretEntry : secretMap.entrySet()) {
+			properties.put(secretEntry.getKey(), secretEntry.getValue());
+		}
+
+		return properties;
+	}
+
+	private boolean isKnownMissing(SecretKey secret) {
+		Long expires = missingSecrets.get(secret);
+		if (expires == null) {
+			return false;
+		}
+		if (expires - System.nanoTime() > 0) {
+			return true;
+		}
+		missingSecrets.remove(secret, expires);
+		return false;
+	}
+
+	private void markMissing(SecretKey secret) {
+		long ttl = environmentProperties.getMissingSecretCacheTtl().toNanos();
+		if (ttl <= 0) {
+			return;
+		}
+		missingSecrets.put(secret, System.nanoTime() + ttl);
+	}
+
 	@Override
 	public int getOrder() {
 		return order;
 	}
 
+	private record SecretKey(String path, String label) {
+	}
+
 }
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.environment;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Persistent store of the last {@link Environment} served for each (application,
+ * profiles, label) key. Snapshots are kept in memory as serialized JSON and appended to a
+ * line-oriented log under the configured base directory, so that a restarted server can
+ * answer immediately with the last known good state. The log is compacted when it holds
+ * too many superseded records. At most {@link #getMaxEntries()} keys are kept, the least
+ * recently used ones are evicted and dropped from the log when it is next compacted.
+ * <p>
+ * The environments are stored as returned by the backend, which means that they contain
+ * plain text secrets for backends such as Vault or JDBC. On file systems that support
+ * POSIX permissions the base directory and the log are only accessible to their owner.
+ */
+public class EnvironmentSnapshotStore implements InitializingBean, DisposableBean {
+
+	/**
+	 * Name of the snapshot log file created in the base directory.
+	 */
+	public static final String FILE_NAME = "environment-snapshots.log";
+
+	private static final Log logger = LogFactory.getLog(EnvironmentSnapshotStore.class);
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+	private final Path file;
+
+	private final JsonMapper objectMapper;
+
+	private final Map<String, Snapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+			if (size() > EnvironmentSnapshotStore.this.maxEntries) {
+				EnvironmentSnapshotStore.this.reconciled.remove(eldest.getKey());
+				return true;
+			}
+			return false;
+		}
+	});
+
+	private final Set<String> reconciled = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> reconciling = ConcurrentHashMap.newKeySet();
+
+	private int compactThreshold = 1000;
+
+	private int refreshConcurrency = 2;
+
+	private int maxEntries = 1000;
+
+	private ConcurrentTaskRunner refreshRunner;
+
+	private int records;
+
+	private BufferedWriter writer;
+
+	public EnvironmentSnapshotStore(File basedir) {
+		this(basedir, new JsonMapper());
+	}
+
+	public EnvironmentSnapshotStore(File basedir, JsonMapper objectMapper) {
+		Assert.notNull(basedir, "basedir must not be null");
+		this.file = basedir.toPath().resolve(FILE_NAME);
+		this.objectMapper = objectMapper;
+	}
+
+	public int getCompactThreshold() {
+		return this.compactThreshold;
+	}
+
+	public void setCompactThreshold(int compactThreshold) {
+		this.compactThreshold = compactThreshold;
+	}
+
+	public int getRefreshConcurrency() {
+		return this.refreshConcurrency;
+	}
+
+	public void setRefreshConcurrency(int refreshConcurrency) {
+		this.refreshConcurrency = refreshConcurrency;
+	}
+
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public Path getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Returns the executor used to refresh snapshots from the backing repository in the
+	 * background. It has at most {@link #getRefreshConcurrency()} threads.
+	 * @return the refresh executor
+	 */
+	public Executor getRefreshExecutor() {
+		return task -> this.refreshRunner.execute(task);
+	}
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		this.refreshRunner = new ConcurrentTaskRunner("config-snapshot-", this.refreshConcurrency);
+		load();
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (this.refreshRunner != null) {
+			this.refreshRunner.destroy();
+		}
+		close();
+	}
+
+	private synchronized void close() throws IOException {
+		if (this.writer != null) {
+			this.writer.close();
+			this.writer = null;
+		}
+	}
+
+	/**
+	 * Returns a fresh copy of the last environment stored for the key.
+	 * @param key the snapshot key
+	 * @return the environment or null if there is no snapshot for the key
+	 */
+	public Environment get(String key) {
+		Snapshot snapshot = this.snapshots.get(key);
+		if (snapshot == null) {
+			return null;
+		}
+		return this.objectMapper.readValue(snapshot.json(), Environment.class);
+	}
+
+	/**
+	 * Records the environment as the last known good state for the key, unless the stored
+	 * snapshot already has the same non-null version, in which case the environment is
+	 * not serialized at all.
+	 * @param key the snapshot key
+	 * @param environment the environment to store
+	 */
+	public void record(String key, Environment environment) {
+		Snapshot previous = this.snapshots.get(key);
+		if (previous != null && environment.getVersion() != null
+				&& environment.getVersion().equals(previous.version()) && this.reconciled.contains(key)) {
+			return;
+		}
+		save(key, environment);
+	}
+
+	/**
+	 * Records the environment as the last known good state for the key. Nothing is
+	 * written if the serialized environment did not change.
+	 * @param key the snapshot key
+	 * @param environment the environment to store
+	 */
+	public void save(String key, Environment environment) {
+		String json = this.objectMapper.writeValueAsString(environment);
+		this.reconciled.add(key);
+		this.reconciling.remove(key);
+		Snapshot previous = this.snapshots.get(key);
+		if (previous != null && previous.json().equals(json)) {
+			return;
+		}
+		Snapshot snapshot = new Snapshot(environment.getVersion(), json);
+		this.snapshots.put(key, snapshot);
+		append(key, snapshot);
+	}
+
+	/**
+	 * Returns whether the key has been refreshed from the backing repository since this
+	 * store was loaded.
+	 * @param key the snapshot key
+	 * @return true if the stored snapshot is current
+	 */
+	public boolean isReconciled(String key) {
+		return this.reconciled.contains(key);
+	}
+
+	/**
+	 * Claims the background refresh of the key.
+	 * @param key the snapshot key
+	 * @return true if the caller should perform the refresh
+	 */
+	public boolean startReconciling(String key) {
+		return this.reconciling.add(key);
+	}
+
+	/**
+	 * Releases a claim on the key after a failed refresh, so that it can be retried.
+	 * @param key the snapshot key
+	 */
+	public void reconcileFailed(String key) {
+		this.reconciling.remove(key);
+	}
+
+	/**
+	 * Returns the version of the last environment stored for the key.
+	 * @param key the snapshot key
+	 * @return the version or null
+	 */
+	public String getVersion(String key) {
+		Snapshot snapshot = this.snapshots.get(key);
+		return snapshot == null ? null : snapshot.version();
+	}
+
+	public int size() {
+		return this.snapshots.size();
+	}
+
+	synchronized void load() throws IOException {
+		createDirectory(this.file.getParent());
+		int count = 0;
+		if (Files.exists(this.file)) {
+			restrict(this.file, OWNER_ONLY_FILE);
+			try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isEmpty()) {
+						continue;
+					}
+					JsonNode node = readRecord(line);
+					if (node == null) {
+						// A partially written trailing record, drop it by compacting
+						logger.warn("Ignoring unreadable environment snapshot record in " + this.file);
+						count = Integer.MAX_VALUE;
+						break;
+					}
+					JsonNode environment = node.get("environment");
+					JsonNode version = environment.get("version");
+					this.snapshots.put(node.get("key").asString(), new Snapshot(
+							version == null || version.isNull() ? null : version.asString(), environment.toString()));
+					count++;
+				}
+			}
+		}
+		this.records = count;
+		if (logger.isDebugEnabled()) {
+			logger.debug("Loaded " + this.snapshots.size() + " environment snapshots from " + this.file);
+		}
+		if (this.records > this.snapshots.size()) {
+			compact();
+		}
+	}
+
+	private JsonNode readRecord(String line) {
+		try {
+			JsonNode node = this.objectMapper.readTree(line);
+			if (node.hasNonNull("key") && node.hasNonNull("environment")) {
+				return node;
+			}
+		}
+		catch (JacksonException e) {
+			// fall through
+		}
+		return null;
+	}
+
+	private synchronized void append(String key, Snapshot snapshot) {
+		try {
+			if (this.records >= this.compactThreshold && this.records > 2 * this.snapshots.size()) {
+				compact();
+				return;
+			}
+			if (this.writer == null) {
+				createFile(this.file);
+				this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+			}
+			this.writer.write(line(key, snapshot));
+			this.writer.newLine();
+			this.writer.flush();
+			this.records++;
+		}
+		catch (IOException e) {
+			logger.warn("Could not write environment snapshot to " + this.file, e);
+		}
+	}
+
+	private synchronized void compact() throws IOException {
+		close();
+		Path temp = this.file.resolveSibling(FILE_NAME + ".tmp");
+		Files.deleteIfExists(temp);
+		createFile(temp);
+		try (BufferedWriter compacted = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			synchronized (this.snapshots) {
+				for (Map.Entry<String, Snapshot> entry : this.snapshots.entrySet()) {
+					compacted.write(line(entry.getKey(), entry.getValue()));
+					compacted.newLine();
+				}
+			}
+		}
+		Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		this.records = this.snapshots.size();
+	}
+
+	private static void createDirectory(Path directory) throws IOException {
+		if (Files.exists(directory)) {
+			return;
+		}
+		if (isPosix(directory)) {
+			Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+		}
+		else {
+			Files.createDirectories(directory);
+		}
+	}
+
+	private static void createFile(Path file) throws IOException {
+		if (Files.exists(file)) {
+			return;
+		}
+		if (isPosix(file)) {
+			Files.createFile(file, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+		}
+		else {
+			Files.createFile(file);
+		}
+	}
+
+	private static void restrict(Path file, Set<PosixFilePermission> permissions) throws IOException {
+		if (isPosix(file)) {
+			Files.setPosixFilePermissions(file, permissions);
+		}
+	}
+
+	private static boolean isPosix(Path path) {
+		return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+	}
+
+	private String line(String key, Snapshot snapshot) {
+		return "{\"key\":" + this.objectMapper.writeValueAsString(key) + ",\"environment\":" + snapshot.json() + "}";
+	}
+
+	/**
+	 * Builds the key used to store an environment.
+	 * @param application the application name
+	 * @param profiles the profiles
+	 * @param label the label
+	 * @return the snapshot key
+	 */
+	public static String key(String application, String profiles, String label) {
+		return application + "/" + profiles + "/" + ObjectUtils.nullSafeToString(label);
+	}
+
+	private record Snapshot(String version, String json) {
+	}
+
+}
@@ -22,28 +22,27 @@ import java.net.URL;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.eclipse.jgit.transport.http.HttpConnection;
 import org.eclipse.jgit.transport.http.apache.HttpClientConnection;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.config.server.support.HttpClient4Support;
-import org.springframework.util.ObjectUtils;
-
-import static java.util.stream.Collectors.toMap;
 
 /**
  * @author Dylan Roberts
  */
-public class HttpClientConfigurableHttpConnectionFactory implements ConfigurableHttpConnectionFactory {
+public class HttpClientConfigurableHttpConnectionFactory implements ConfigurableHttpConnectionFactory, DisposableBean {
 
 	private static final String PLACEHOLDER_PATTERN_STRING = "\\{(\\w+)}";
 
@@ -53,6 +52,17 @@ public class HttpClientConfigurableHttpConnectionFactory implements Configurable
 
 	Map<String, HttpClientBuilder> httpClientBuildersByUri = new LinkedHashMap<>();
 
+	/**
+	 * Compiled matchers for the configured URIs, in the order they were added.
+	 */
+	private final Map<String, Pattern> uriPatterns = new LinkedHashMap<>();
+
+	/**
+	 * One built (and pooled) client per configured URI, so that keep-alive connections
+	 * and TLS sessions are reused across JGit requests.
+	 */
+	private final Map<String, CloseableHttpClient> httpClientsByUri = new ConcurrentHashMap<>();
+
 	@Override
 	public void addConfiguration(MultipleJGitEnvironmentProperties environmentProperties,
 			List<HttpClient4BuilderCustomizer> customizers) throws GeneralSecurityException {
@@ -69,9 +79,10 @@ public class HttpClientConfigurableHttpConnectionFactory implements Configurable
 
 	@Override
 	public HttpConnection create(URL url, Proxy proxy) throws IOException {
-		HttpClientBuilder builder = lookupHttpClientBuilder(url);
-		if (builder != null) {
-			return new HttpClientConnection(url.toString(), null, builder.build());
+		String uri = lookupUri(url);
+		if (uri != null) {
+			return new HttpClientConnection(url.toString(), null, this.httpClientsByUri.computeIfAbsent(uri,
+					key -> this.httpClientBuildersByUri.get(key).build()));
 		}
 		else {
 			/*
@@ -81,124 +92,83 @@ public class HttpClientConfigurableHttpConnectionFactory implements Configurable
 		}
 	}
 
+	@Override
+	public void destroy() throws IOException {
+		for (CloseableHttpClient client : this.httpClientsByUri.values()) {
+			client.close();
+		}
+		this.httpClientsByUri.clear();
+	}
+
 	private void addHttpClient(JGitEnvironmentProperties properties, List<HttpClient4BuilderCustomizer> customizers)
 			throws GeneralSecurityException {
 		if (properties.getUri() != null && properties.getUri().startsWith("http")) {
 			this.httpClientBuildersByUri.put(properties.getUri(), HttpClient4Support.builder(properties, customizers));
+			this.uriPatterns.put(properties.getUri(), compile(properties.getUri()));
+			CloseableHttpClient previous = this.httpClientsByUri.remove(properties.getUri());
+			if (previous != null) {
+				try {
+					previous.close();
+				}
+				catch (IOException e) {
+					this.log.debug("Could not close replaced http client for " + properties.getUri(), e);
+				}
+			}
 		}
 	}
 
-	private HttpClientBuilder lookupHttpClientBuilder(final URL url) {
-		Map<String, HttpClientBuilder> builderMap = this.httpClientBuildersByUri.entrySet().stream().filter(entry -> {
-			String key = entry.getKey();
-			String spec = getUrlWithPlaceholders(url, key);
-			if (spec.equals(key)) {
-				return true;
-			}
-			int index = spec.lastIndexOf("/");
-			while (index != -1) {
-				spec = spec.substring(0, index);
-				if (spec.equals(key)) {
-					return true;
-				}
-				index = spec.lastIndexOf("/");
+	private String lookupUri(final URL url) {
+		String spec = url.toString();
+		List<String> matches = new ArrayList<>(1);
+		for (Map.Entry<String, Pattern> entry : this.uriPatterns.entrySet()) {
+			if (entry.getValue().matcher(spec).matches()) {
+				matches.add(entry.getKey());
 			}
-			return false;
-		}).collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+		}
 
-		if (builderMap.isEmpty()) {
+		if (matches.isEmpty()) {
 			this.log.warn(String.format("No custom http config found for URL: %s", url));
 			return null;
 		}
-		if (builderMap.size() > 1) {
+		if (matches.size() > 1) {
 			/*
 			 * Try to determine if there is an exact match URL or not. So if there is a
 			 * placeholder in the URL, filter it out. We should be left with only URLs
 			 * which have no placeholders. That is the one we want to use in the case
 			 * there are multiple matches.
 			 */
-			List<String> keys = builderMap.keySet()
-				.stream()
+			List<String> keys = matches.stream()
 				.filter(key -> !PLACEHOLDER_PATTERN.matcher(key).find())
 				.collect(Collectors.toList());
 
 			if (keys.size() == 1) {
-				return builderMap.get(keys.get(0));
+				return keys.get(0);
 			}
 			this.log.error(String.format(
 					"More than one git repo URL template matched URL:"
 							+ " %s, proxy and skipSslValidation config won't be applied. Matched templates: %s",
-					url, builderMap.keySet().stream().collect(Collectors.joining(", "))));
+					url, String.join(", ", matches)));
 			return null;
 		}
-		return new ArrayList<>(builderMap.values()).get(0);
-	}
-
-	private String getUrlWithPlaceholders(URL url, String key) {
-		String spec = url.toString();
-		String[] tokens = key.split(PLACEHOLDER_PATTERN_STRING);
-		// if token[0] equals url then there was no placeholder in the the url, so
-		// matching needed
-		if (tokens.length >= 1 && !tokens[0].equals(url.toString())) {
-			List<Placeholder> placeholders = getPlaceholders(key);
-			List<String> values = getValues(spec, tokens);
-			if (placeholders.size() == values.size()) {
-				for (int i = 0; i < values.size(); i++) {
-					// if the key does not start with first part of the spec before the
-					// place holder then its
-					// not a match
-					String specBeforePlaceholder = spec.substring(0, placeholders.get(i).start);
-					if (key.startsWith(specBeforePlaceholder)) {
-						spec = specBeforePlaceholder + "{" + placeholders.get(i).group + "}"
-								+ spec.substring(placeholders.get(i).start + values.get(i).length());
-					}
-				}
-			}
-		}
-		return spec;
-	}
-
-	private List<String> getValues(String spec, String[] tokens) {
-		List<String> values = new LinkedList<>();
-		for (String token : tokens) {
-			String[] valueTokens = spec.split(token);
-			if (!ObjectUtils.isEmpty(valueTokens[0])) {
-				values.add(valueTokens[0]);
-			}
-			if (valueTokens.length > 1) {
-				spec = valueTokens[1];
-			}
-		}
-		if (tokens.length == 1 && !ObjectUtils.isEmpty(spec)) {
-			values.add(spec);
-		}
-		return values;
+		return matches.get(0);
 	}
 
-	private List<Placeholder> getPlaceholders(String key) {
-		Pattern pattern = Pattern.compile(PLACEHOLDER_PATTERN_STRING);
-		Matcher matcher = pattern.matcher(key);
-		List<Placeholder> placeholders = new LinkedList<>();
+	/**
+	 * Compiles a configured URI into a pattern that matches the URI itself, or any
+	 * longer path below it, with every placeholder matching a single path segment.
+	 * @param uri the configured URI, possibly with placeholders
+	 * @return the compiled pattern
+	 */
+	static Pattern compile(String uri) {
+		StringBuilder regex = new StringBuilder();
+		Matcher matcher = PLACEHOLDER_PATTERN.matcher(uri);
+		int last = 0;
 		while (matcher.find()) {
-			placeholders.add(new Placeholder(matcher.group(1), matcher.start(), matcher.end()));
+			regex.append(Pattern.quote(uri.substring(last, matcher.start()))).append("[^/]+");
+			last = matcher.end();
 		}
-		return placeholders;
-	}
-
-	private static class Placeholder {
-
-		String group;
-
-		int start;
-
-		int end;
-
-		Placeholder(String group, int start, int end) {
-			this.start = start;
-			this.end = end;
-			this.group = group;
-		}
-
+		regex.append(Pattern.quote(uri.substring(last))).append("(/.*)?");
+		return Pattern.compile(regex.toString());
 	}
 
 }
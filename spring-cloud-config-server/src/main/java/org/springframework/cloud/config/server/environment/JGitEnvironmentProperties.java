@@ -73,6 +73,18 @@ public class JGitEnvironmentProperties extends AbstractScmAccessorProperties
 	 */
 	private int timeout = 5;
 
+	/**
+	 * Maximum number of pooled HTTP connections per route kept by the shared HTTP client
+	 * for this repository.
+	 */
+	private int maxConnectionsPerRoute = 5;
+
+	/**
+	 * Time (in seconds) after which idle pooled HTTP connections are evicted. Zero or
+	 * negative disables eviction.
+	 */
+	private int idleConnectionTimeout = 60;
+
 	/**
 	 * Flag to indicate that the branch should be deleted locally if it's origin tracked
 	 * branch was removed.
@@ -173,6 +185,22 @@ public class JGitEnvironmentProperties extends AbstractScmAccessorProperties
 		this.timeout = timeout;
 	}
 
+	public int getMaxConnectionsPerRoute() {
+		return this.maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public int getIdleConnectionTimeout() {
+		return this.idleConnectionTimeout;
+	}
+
+	public void setIdleConnectionTimeout(int idleConnectionTimeout) {
+		this.idleConnectionTimeout = idleConnectionTimeout;
+	}
+
 	public boolean isDeleteUntrackedBranches() {
 		return this.deleteUntrackedBranches;
 	}
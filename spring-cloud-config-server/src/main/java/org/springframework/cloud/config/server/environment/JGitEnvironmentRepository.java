@@ -276,6 +276,14 @@ public class JGitEnvironmentRepository extends AbstractScmEnvironmentRepository
 		}
 	}
 
+	@Override
+	public synchronized <T> T withLocations(String application, String profile, String label,
+			LocationsCallback<T> callback) throws IOException {
+		synchronized (LOCK) {
+			return super.withLocations(application, profile, label, callback);
+		}
+	}
+
 	@Override
 	public synchronized Locations getLocations(String application, String profile, String label) {
 		if (label == null) {
@@ -299,7 +307,7 @@ public class JGitEnvironmentRepository extends AbstractScmEnvironmentRepository
 			}
 		}
 		return new Locations(application, profile, label, version,
-				getSearchLocations(getWorkingDirectory(), application, profile, label));
+				getSearchLocations(getWorkingDirectory(), application, profile, label), true);
 	}
 
 	@Override
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.config.server.support.EnvironmentRepositoryProperties;
 
@@ -32,6 +34,16 @@ public class JdbcEnvironmentProperties implements EnvironmentRepositoryPropertie
 	private static final String DEFAULT_SQL_WITHOUT_PROFILE = "SELECT \"KEY\", \"VALUE\" from PROPERTIES"
 			+ " where APPLICATION=? and PROFILE is null and LABEL=?";
 
+	private static final String DEFAULT_INDEX_SQL = "SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\""
+			+ " from PROPERTIES";
+
+	private static final String DEFAULT_INDEX_RELOAD_SQL = DEFAULT_INDEX_SQL
+			+ " where APPLICATION in (:applications) and LABEL in (:labels)";
+
+	private static final String DEFAULT_BULK_SQL = "SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\""
+			+ " from PROPERTIES where APPLICATION in (:applications)"
+			+ " and (PROFILE in (:profiles) or PROFILE is null) and LABEL in (:labels)";
+
 	/**
 	 * Flag to indicate that JDBC environment repository configuration is enabled.
 	 */
@@ -45,6 +57,25 @@ public class JdbcEnvironmentProperties implements EnvironmentRepositoryPropertie
 	/** SQL used to query database for keys and values when profile is null. */
 	private String sqlWithoutProfile = DEFAULT_SQL_WITHOUT_PROFILE;
 
+	/**
+	 * Flag to indicate that all property sources of a request should be fetched with a
+	 * single query ({@link #bulkSql}) instead of one query per application, profile and
+	 * label.
+	 */
+	private boolean bulk = false;
+
+	/**
+	 * SQL used to query database for all keys and values of a request when {@link #bulk}
+	 * is enabled. Takes the named parameters "applications", "profiles" and "labels" and
+	 * must return the application, profile, label, key and value columns in that order.
+	 */
+	private String bulkSql = DEFAULT_BULK_SQL;
+
+	/**
+	 * Settings of the in-memory index of the whole table.
+	 */
+	private final Index index = new Index();
+
 	/**
 	 * Flag to determine how to handle query exceptions.
 	 */
@@ -85,6 +116,26 @@ public class JdbcEnvironmentProperties implements EnvironmentRepositoryPropertie
 		this.sqlWithoutProfile = sqlWithoutProfile;
 	}
 
+	public boolean isBulk() {
+		return this.bulk;
+	}
+
+	public void setBulk(boolean bulk) {
+		this.bulk = bulk;
+	}
+
+	public String getBulkSql() {
+		return this.bulkSql;
+	}
+
+	public void setBulkSql(String bulkSql) {
+		this.bulkSql = bulkSql;
+	}
+
+	public Index getIndex() {
+		return this.index;
+	}
+
 	public boolean isFailOnError() {
 		return failOnError;
 	}
@@ -106,4 +157,93 @@ public class JdbcEnvironmentProperties implements EnvironmentRepositoryPropertie
 		this.defaultLabel = defaultLabel;
 	}
 
+	/**
+	 * Settings of the in-memory index. When enabled, the repository loads the whole table
+	 * once and answers requests from memory. The index is reloaded in the background
+	 * every refresh interval, while requests keep using the previous index.
+	 */
+	public static class Index {
+
+		/**
+		 * Flag to indicate that requests should be served from an in-memory index of the
+		 * whole table.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * SQL used to load the index. Must return the application, profile, label, key and
+		 * value columns in that order.
+		 */
+		private String sql = DEFAULT_INDEX_SQL;
+
+		/**
+		 * Optional SQL returning the application, profile and label of every property
+		 * source plus a version (for instance the latest update timestamp) in that order.
+		 * When set, only property sources with a changed version are reloaded, using
+		 * {@link #reloadSql}. Otherwise the whole index is reloaded.
+		 */
+		private String versionSql;
+
+		/**
+		 * SQL used to reload the property sources with a changed version. Takes the named
+		 * parameters applications and labels (each a list) and must return the same
+		 * columns and rows as the index SQL, restricted to those applications and labels.
+		 * Has to be set when the index SQL is customized and a version SQL is used.
+		 */
+		private String reloadSql = DEFAULT_INDEX_RELOAD_SQL;
+
+		/**
+		 * Time between two background refreshes of the index. A zero or negative interval
+		 * disables the refresh.
+		 */
+		private Duration refreshInterval = Duration.ofSeconds(30);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getSql() {
+			return this.sql;
+		}
+
+		public void setSql(String sql) {
+			this.sql = sql;
+		}
+
+		public String getVersionSql() {
+			return this.versionSql;
+		}
+
+		public void setVersionSql(String versionSql) {
+			this.versionSql = versionSql;
+		}
+
+		public String getReloadSql() {
+			return this.reloadSql;
+		}
+
+		public void setReloadSql(String reloadSql) {
+			this.reloadSql = reloadSql;
+		}
+
+		public boolean isReloadSqlIncomplete() {
+			// a custom index sql needs a matching reload sql for incremental reloads
+			return this.versionSql != null && !this.sql.equals(DEFAULT_INDEX_SQL)
+					&& this.reloadSql.equals(DEFAULT_INDEX_RELOAD_SQL);
+		}
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+	}
+
 }
@@ -18,24 +18,37 @@ package org.springframework.cloud.config.server.environment;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.core.Ordered;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 
 /**
@@ -51,7 +64,7 @@ import org.springframework.util.StringUtils;
  * @author Dave Syer
  *
  */
-public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered {
+public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered, DisposableBean {
 
 	private static final Log logger = LogFactory.getLog(JdbcEnvironmentRepository.class);
 
@@ -65,6 +78,24 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 
 	private String sqlWithoutProfile;
 
+	private boolean bulk;
+
+	private String bulkSql;
+
+	private boolean indexEnabled;
+
+	private String indexSql;
+
+	private String indexVersionSql;
+
+	private String indexReloadSql;
+
+	private Duration indexRefreshInterval;
+
+	private final AtomicReference<PropertySourceIndex> index = new AtomicReference<>();
+
+	private volatile ScheduledExecutorService indexRefresher;
+
 	private boolean failOnError;
 
 	private boolean configIncomplete;
@@ -77,6 +108,17 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 		this.order = properties.getOrder();
 		this.sql = properties.getSql();
 		this.sqlWithoutProfile = properties.getSqlWithoutProfile();
+		this.bulk = properties.isBulk();
+		this.bulkSql = properties.getBulkSql();
+		this.indexEnabled = properties.getIndex().isEnabled();
+		this.indexSql = properties.getIndex().getSql();
+		this.indexVersionSql = properties.getIndex().getVersionSql();
+		this.indexReloadSql = properties.getIndex().getReloadSql();
+		if (this.indexEnabled && properties.getIndex().isReloadSqlIncomplete()) {
+			throw new IllegalStateException("spring.cloud.config.server.jdbc.index.reload-sql must be set"
+					+ " when index.sql is customized and index.version-sql is set");
+		}
+		this.indexRefreshInterval = properties.getIndex().getRefreshInterval();
 		this.failOnError = properties.isFailOnError();
 		this.extractor = extractor;
 		this.configIncomplete = properties.isConfigIncomplete();
@@ -122,6 +164,10 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 		else {
 			labels = Collections.singletonList(label);
 		}
+		if (this.indexEnabled || this.bulk) {
+			addPropertySources(environment, applications, envs, labels);
+			return environment;
+		}
 		for (String l : labels) {
 			for (String env : envs) {
 				for (String app : applications) {
@@ -138,6 +184,169 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 		return environment;
 	}
 
+	/**
+	 * Looks up the property sources for all applications, profiles and labels in the
+	 * index or with a single query and adds them in the same order as the individual
+	 * queries would.
+	 */
+	private void addPropertySources(Environment environment, List<String> applications, List<String> envs,
+			List<String> labels) {
+		Map<PropertySourceKey, Map<String, Object>> sources;
+		try {
+			if (this.indexEnabled) {
+				sources = getIndex().sources();
+			}
+			else {
+				MapSqlParameterSource parameters = new MapSqlParameterSource().addValue("applications", applications)
+					.addValue("profiles", envs)
+					.addValue("labels", labels);
+				sources = new NamedParameterJdbcTemplate(this.jdbc).query(this.bulkSql, parameters,
+						new PropertySourcesResultSetExtractor());
+			}
+		}
+		catch (DataAccessException e) {
+			if (!failOnError) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to retrieve configuration from JDBC Repository", e);
+				}
+				return;
+			}
+			throw e;
+		}
+		for (String l : labels) {
+			for (String env : envs) {
+				for (String app : applications) {
+					addPropertySource(environment, app + "-" + env, sources.get(new PropertySourceKey(app, env, l)));
+				}
+			}
+			// add properties without profile, equivalent to foo.yml, application.yml
+			if (!configIncomplete) {
+				for (String app : applications) {
+					addPropertySource(environment, app, sources.get(new PropertySourceKey(app, null, l)));
+				}
+			}
+		}
+	}
+
+	private PropertySourceIndex getIndex() {
+		PropertySourceIndex current = this.index.get();
+		if (current == null) {
+			synchronized (this.index) {
+				current = this.index.get();
+				if (current == null) {
+					current = loadIndex();
+					this.index.set(current);
+					scheduleIndexRefresh();
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Refreshes the index on a background thread, so that requests never wait for a
+	 * reload and keep being served from the current index while it happens.
+	 */
+	private void scheduleIndexRefresh() {
+		long interval = this.indexRefreshInterval.toMillis();
+		if (interval <= 0) {
+			return;
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jdbc-index-refresh-");
+		threadFactory.setDaemon(true);
+		ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		refresher.scheduleWithFixedDelay(this::refreshIndex, interval, interval, TimeUnit.MILLISECONDS);
+		this.indexRefresher = refresher;
+	}
+
+	void refreshIndex() {
+		PropertySourceIndex current = this.index.get();
+		if (current == null) {
+			return;
+		}
+		try {
+			this.index.set(this.indexVersionSql != null ? reloadIndex(current) : loadIndex());
+		}
+		catch (RuntimeException e) {
+			// keep the task scheduled, the next refresh may succeed
+			logger.warn("Failed to refresh JDBC property index, serving the previous one: " + e.getMessage());
+		}
+	}
+
+	private PropertySourceIndex loadIndex() {
+		// versions first, so that concurrent changes are picked up by the next refresh
+		Map<PropertySourceKey, String> versions = this.indexVersionSql != null
+				? this.jdbc.query(this.indexVersionSql, new VersionsResultSetExtractor()) : Collections.emptyMap();
+		Map<PropertySourceKey, Map<String, Object>> sources = new HashMap<>();
+		this.jdbc.query(this.indexSql, new PropertySourcesResultSetExtractor())
+			.forEach((key, source) -> sources.put(key, Collections.unmodifiableMap(source)));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Loaded " + sources.size() + " property sources into JDBC property index");
+		}
+		return new PropertySourceIndex(Collections.unmodifiableMap(sources), versions);
+	}
+
+	private PropertySourceIndex reloadIndex(PropertySourceIndex current) {
+		Map<PropertySourceKey, String> versions = this.jdbc.query(this.indexVersionSql,
+				new VersionsResultSetExtractor());
+		Map<PropertySourceKey, Map<String, Object>> sources = new HashMap<>();
+		Set<PropertySourceKey> changed = new HashSet<>();
+		for (Map.Entry<PropertySourceKey, String> entry : versions.entrySet()) {
+			PropertySourceKey key = entry.getKey();
+			Map<String, Object> source = current.sources().get(key);
+			if (source == null || !Objects.equals(entry.getValue(), current.versions().get(key))) {
+				changed.add(key);
+			}
+			else {
+				sources.put(key, source);
+			}
+		}
+		if (changed.isEmpty() && sources.keySet().equals(current.sources().keySet())) {
+			return current;
+		}
+		if (!changed.isEmpty()) {
+			loadPropertySources(changed).forEach((key, source) -> {
+				if (changed.contains(key)) {
+					sources.put(key, Collections.unmodifiableMap(source));
+				}
+			});
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Reloaded " + changed.size() + " changed property sources into JDBC property index");
+		}
+		return new PropertySourceIndex(Collections.unmodifiableMap(sources), versions);
+	}
+
+	/**
+	 * Loads the property sources of the applications and labels of the given keys with
+	 * the reload variant of the index query, so that they are read the same way as the
+	 * rest of the index.
+	 */
+	private Map<PropertySourceKey, Map<String, Object>> loadPropertySources(Set<PropertySourceKey> keys) {
+		Set<String> applications = new HashSet<>();
+		Set<String> labels = new HashSet<>();
+		for (PropertySourceKey key : keys) {
+			// sources without application or label are never requested
+			if (key.application() != null && key.label() != null) {
+				applications.add(key.application());
+				labels.add(key.label());
+			}
+		}
+		if (applications.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		MapSqlParameterSource parameters = new MapSqlParameterSource().addValue("applications", applications)
+			.addValue("labels", labels);
+		return new NamedParameterJdbcTemplate(this.jdbc).query(this.indexReloadSql, parameters,
+				new PropertySourcesResultSetExtractor());
+	}
+
+	private void addPropertySource(Environment environment, String name, Map<String, Object> source) {
+		if (source != null && !source.isEmpty()) {
+			environment.add(new PropertySource(name, new LinkedHashMap<>(source)));
+		}
+	}
+
 	private void addPropertySource(Environment environment, String application, String profile, String label) {
 		try {
 			Map<String, Object> source;
@@ -183,6 +392,14 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 		this.failOnError = failOnError;
 	}
 
+	@Override
+	public void destroy() {
+		ScheduledExecutorService refresher = this.indexRefresher;
+		if (refresher != null) {
+			refresher.shutdownNow();
+		}
+	}
+
 	public static class PropertiesResultSetExtractor implements ResultSetExtractor<Map<String, Object>> {
 
 		@Override
@@ -196,4 +413,47 @@ public class JdbcEnvironmentRepository implements EnvironmentRepository, Ordered
 
 	}
 
+	/**
+	 * Groups rows of application, profile, label, key and value by property source.
+	 */
+	static class PropertySourcesResultSetExtractor
+			implements ResultSetExtractor<Map<PropertySourceKey, Map<String, Object>>> {
+
+		@Override
+		public Map<PropertySourceKey, Map<String, Object>> extractData(ResultSet rs)
+				throws SQLException, DataAccessException {
+			Map<PropertySourceKey, Map<String, Object>> sources = new HashMap<>();
+			while (rs.next()) {
+				PropertySourceKey key = new PropertySourceKey(rs.getString(1), rs.getString(2), rs.getString(3));
+				sources.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(rs.getString(4), rs.getString(5));
+			}
+			return sources;
+		}
+
+	}
+
+	/**
+	 * Reads rows of application, profile, label and version.
+	 */
+	static class VersionsResultSetExtractor implements ResultSetExtractor<Map<PropertySourceKey, String>> {
+
+		@Override
+		public Map<PropertySourceKey, String> extractData(ResultSet rs) throws SQLException, DataAccessException {
+			Map<PropertySourceKey, String> versions = new HashMap<>();
+			while (rs.next()) {
+				versions.put(new PropertySourceKey(rs.getString(1), rs.getString(2), rs.getString(3)),
+						rs.getString(4));
+			}
+			return versions;
+		}
+
+	}
+
+	record PropertySourceKey(String application, String profile, String label) {
+	}
+
+	private record PropertySourceIndex(Map<PropertySourceKey, Map<String, Object>> sources,
+			Map<PropertySourceKey, String> versions) {
+	}
+
 }
@@ -16,8 +16,10 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -72,39 +74,47 @@ public class MongoDbEnvironmentRepository implements EnvironmentRepository, Orde
 		Collections.reverse(applications);
 		Collections.reverse(profiles);
 
+		List<Object> queriedProfiles = new ArrayList<>(profiles);
+		// properties without profile, equivalent to foo.yml, application.yml
+		queriedProfiles.add(null);
+		Map<SourceKey, List<Map<String, Object>>> sources = findPropertySources(applications, queriedProfiles, label);
+
 		// Add property sources for each combination of application and profile
 		for (String env : profiles) {
 			for (String app : applications) {
-				addPropertySource(environment, app, env, label);
+				addPropertySources(environment, app + "-" + env, sources.get(new SourceKey(app, env)));
 			}
 		}
 		// add properties without profile, equivalent to foo.yml, application.yml
 		for (String app : applications) {
-			addPropertySource(environment, app, null, label);
+			addPropertySources(environment, app, sources.get(new SourceKey(app, null)));
 		}
 		return environment;
 	}
 
-	private void addPropertySource(Environment environment, String application, String profile, String label) {
+	/**
+	 * Reads the documents of all applications and profiles with a single query and groups
+	 * their properties by application and profile, keeping the order of the documents.
+	 */
+	private Map<SourceKey, List<Map<String, Object>>> findPropertySources(List<String> applications,
+			List<Object> profiles, String label) {
+		Map<SourceKey, List<Map<String, Object>>> sources = new HashMap<>();
 		try {
-			Criteria criteria = Criteria.where("application").is(application).and("label").is(label);
-			if (profile != null) {
-				criteria = criteria.and("profile").is(profile);
-			}
-			else {
-				// Handling properties without profile by explicitly looking for them
-				criteria = criteria.andOperator(Criteria.where("profile").is(null));
-			}
-
-			Query query = new Query(criteria);
+			Query query = new Query(Criteria.where("application")
+				.in(applications)
+				.and("label")
+				.is(label)
+				.and("profile")
+				.in(profiles));
+			query.fields().include("application", "profile", "properties");
 			List<Map> propertyMaps = this.mongoTemplate.find(query, Map.class, this.properties.getCollection());
 
 			for (Map propertyMap : propertyMaps) {
-				String propertySourceName = (profile != null) ? application + "-" + profile : application;
 				@SuppressWarnings("unchecked")
 				Map<String, Object> source = (Map<String, Object>) propertyMap.get("properties");
 				if (source != null && !source.isEmpty()) {
-					environment.add(new PropertySource(propertySourceName, source));
+					SourceKey key = new SourceKey(propertyMap.get("application"), propertyMap.get("profile"));
+					sources.computeIfAbsent(key, k -> new ArrayList<>()).add(source);
 				}
 			}
 		}
@@ -118,6 +128,18 @@ public class MongoDbEnvironmentRepository implements EnvironmentRepository, Orde
 				throw e;
 			}
 		}
+		return sources;
+	}
+
+	private void addPropertySources(Environment environment, String name, List<Map<String, Object>> sources) {
+		if (sources != null) {
+			for (Map<String, Object> source : sources) {
+				environment.add(new PropertySource(name, source));
+			}
+		}
+	}
+
+	private record SourceKey(Object application, Object profile) {
 	}
 
 	@Override
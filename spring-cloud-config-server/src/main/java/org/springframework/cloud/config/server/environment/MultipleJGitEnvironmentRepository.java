@@ -17,6 +17,7 @@
 package org.springframework.cloud.config.server.environment;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -121,13 +122,31 @@ public class MultipleJGitEnvironmentRepository extends JGitEnvironmentRepository
 
 	@Override
 	public Locations getLocations(String application, String profile, String label) {
+		JGitEnvironmentRepository candidate = getLocator(application, profile, label);
+		if (candidate == this) {
+			return super.getLocations(application, profile, label);
+		}
+		return candidate.getLocations(application, profile, label);
+	}
+
+	@Override
+	public <T> T withLocations(String application, String profile, String label, LocationsCallback<T> callback)
+			throws IOException {
+		JGitEnvironmentRepository candidate = getLocator(application, profile, label);
+		if (candidate == this) {
+			return super.withLocations(application, profile, label, callback);
+		}
+		return candidate.withLocations(application, profile, label, callback);
+	}
+
+	private JGitEnvironmentRepository getLocator(String application, String profile, String label) {
 		for (PatternMatchingJGitEnvironmentRepository repository : this.repos.values()) {
 			if (repository.matches(application, profile, label)) {
 				for (JGitEnvironmentRepository candidate : getRepositories(repository, application, profile, label)) {
 					try {
 						Environment source = candidate.findOne(application, profile, label, false);
 						if (source != null) {
-							return candidate.getLocations(application, profile, label);
+							return candidate;
 						}
 					}
 					catch (Exception e) {
@@ -140,11 +159,7 @@ public class MultipleJGitEnvironmentRepository extends JGitEnvironmentRepository
 				}
 			}
 		}
-		JGitEnvironmentRepository candidate = getRepository(this, application, profile, label);
-		if (candidate == this) {
-			return super.getLocations(application, profile, label);
-		}
-		return candidate.getLocations(application, profile, label);
+		return getRepository(this, application, profile, label);
 	}
 
 	@Override
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.config.server.support.EnvironmentRepositoryProperties;
 
@@ -27,6 +29,11 @@ public class RedisEnvironmentProperties implements EnvironmentRepositoryProperti
 
 	private int order = DEFAULT_ORDER;
 
+	/**
+	 * Settings of the local cache of hash contents.
+	 */
+	private final Cache cache = new Cache();
+
 	public int getOrder() {
 		return this.order;
 	}
@@ -36,4 +43,71 @@ public class RedisEnvironmentProperties implements EnvironmentRepositoryProperti
 		this.order = order;
 	}
 
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Settings of the local cache of hash contents. Entries are invalidated by Redis
+	 * keyspace notifications, so the Redis server has to publish them (for instance with
+	 * {@code notify-keyspace-events Kghx}).
+	 */
+	public static class Cache {
+
+		/**
+		 * Flag to indicate that hash contents should be cached locally.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Time after which the whole cache is dropped, in case notifications were missed.
+		 */
+		private Duration resyncInterval = Duration.ofMinutes(5);
+
+		/**
+		 * Glob-style pattern of the keys holding configuration. Only notifications for
+		 * matching keys are subscribed, so narrow it on a Redis shared with other data.
+		 */
+		private String keyPattern = "*";
+
+		/**
+		 * Database index the configuration hashes live in. Defaults to the database of
+		 * the Redis connection factory.
+		 */
+		private Integer database;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getResyncInterval() {
+			return this.resyncInterval;
+		}
+
+		public void setResyncInterval(Duration resyncInterval) {
+			this.resyncInterval = resyncInterval;
+		}
+
+		public String getKeyPattern() {
+			return this.keyPattern;
+		}
+
+		public void setKeyPattern(String keyPattern) {
+			this.keyPattern = keyPattern;
+		}
+
+		public Integer getDatabase() {
+			return this.database;
+		}
+
+		public void setDatabase(Integer database) {
+			this.database = database;
+		}
+
+	}
+
 }
@@ -16,23 +16,52 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.core.Ordered;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.util.StringUtils;
 
 /**
+ * An {@link EnvironmentRepository} backed by Redis hashes named
+ * <code>{application}</code> and <code>{application}-{profile}</code>. Optionally the
+ * hash contents are cached locally and invalidated by Redis keyspace notifications.
+ *
  * @author Piotr Mińkowski
  * @author KNV Srinivas
  */
-public class RedisEnvironmentRepository implements EnvironmentRepository, Ordered {
+public class RedisEnvironmentRepository
+		implements EnvironmentRepository, Ordered, InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(RedisEnvironmentRepository.class);
+
+	private static final String KEYSPACE_PREFIX = "__keyspace@";
+
+	private static final String KEYSPACE_SEPARATOR = "__:";
 
 	private final StringRedisTemplate redis;
 
@@ -40,6 +69,17 @@ public class RedisEnvironmentRepository implements EnvironmentRepository, Ordere
 
 	private final int order;
 
+	private final Map<String, Map<?, ?>> cache = new ConcurrentHashMap<>();
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private volatile long lastResync = System.nanoTime();
+
+	private RedisMessageListenerContainer listenerContainer;
+
+	private Consumer<String> invalidationListener = key -> {
+	};
+
 	public RedisEnvironmentRepository(StringRedisTemplate redis, RedisEnvironmentProperties properties) {
 		this.redis = redis;
 		this.properties = properties;
@@ -51,13 +91,142 @@ public class RedisEnvironmentRepository implements EnvironmentRepository, Ordere
 		String[] profiles = StringUtils.commaDelimitedListToStringArray(profile);
 		Environment environment = new Environment(application, profiles, label, null, null);
 		final List<String> keys = addKeys(application, Arrays.asList(profiles));
-		keys.forEach(it -> {
-			Map<?, ?> m = redis.opsForHash().entries(it);
-			environment.add(new PropertySource("redis:" + it, m));
-		});
+		List<Map<?, ?>> hashes = isCaching() ? cachedEntries(keys) : entries(keys);
+		for (int i = 0; i < keys.size(); i++) {
+			environment.add(new PropertySource("redis:" + keys.get(i), new LinkedHashMap<>(hashes.get(i))));
+		}
 		return environment;
 	}
 
+	@Override
+	public void afterPropertiesSet() {
+		if (!this.properties.getCache().isEnabled()) {
+			return;
+		}
+		RedisConnectionFactory connectionFactory = this.redis.getRequiredConnectionFactory();
+		String topic = KEYSPACE_PREFIX + database(connectionFactory) + KEYSPACE_SEPARATOR
+				+ this.properties.getCache().getKeyPattern();
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener((message, pattern) -> invalidate(message), new PatternTopic(topic));
+		container.afterPropertiesSet();
+		container.start();
+		this.listenerContainer = container;
+	}
+
+	/**
+	 * The database the notifications are subscribed for: the configured one, or else the
+	 * database of the connection factory (both the Lettuce and the Jedis factories expose
+	 * it as a bean property).
+	 */
+	private int database(RedisConnectionFactory connectionFactory) {
+		Integer database = this.properties.getCache().getDatabase();
+		if (database != null) {
+			return database;
+		}
+		BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(connectionFactory);
+		if (wrapper.isReadableProperty("database") && wrapper.getPropertyValue("database") instanceof Integer index) {
+			return index;
+		}
+		return 0;
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (this.listenerContainer != null) {
+			this.listenerContainer.destroy();
+			this.listenerContainer = null;
+		}
+		this.cache.clear();
+	}
+
+	private boolean isCaching() {
+		RedisMessageListenerContainer container = this.listenerContainer;
+		return container != null && container.isRunning();
+	}
+
+	/**
+	 * Serves the hashes from the local cache and reads the missing ones from Redis.
+	 * @param keys the keys to read
+	 * @return the hash entries of each key, in the order of the keys
+	 */
+	private List<Map<?, ?>> cachedEntries(List<String> keys) {
+		long now = System.nanoTime();
+		if (now - this.lastResync >= this.properties.getCache().getResyncInterval().toNanos()) {
+			this.lastResync = now;
+			this.invalidations.incrementAndGet();
+			this.cache.clear();
+		}
+		List<Map<?, ?>> hashes = new ArrayList<>(keys.size());
+		List<String> missing = new ArrayList<>();
+		for (String key : keys) {
+			Map<?, ?> hash = this.cache.get(key);
+			if (hash == null) {
+				missing.add(key);
+			}
+			hashes.add(hash);
+		}
+		if (missing.isEmpty()) {
+			return hashes;
+		}
+		long generation = this.invalidations.get();
+		List<Map<?, ?>> loaded = entries(missing);
+		for (int i = 0, j = 0; i < keys.size(); i++) {
+			if (hashes.get(i) == null) {
+				Map<?, ?> hash = Collections.unmodifiableMap(new LinkedHashMap<>(loaded.get(j++)));
+				this.cache.put(keys.get(i), hash);
+				hashes.set(i, hash);
+			}
+		}
+		if (this.invalidations.get() != generation) {
+			// a notification arrived while reading, the loaded hashes may be stale
+			missing.forEach(this.cache::remove);
+		}
+		return hashes;
+	}
+
+	private void invalidate(Message message) {
+		String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+		int index = channel.indexOf(KEYSPACE_SEPARATOR);
+		if (index < 0) {
+			return;
+		}
+		String key = channel.substring(index + KEYSPACE_SEPARATOR.length());
+		this.invalidations.incrementAndGet();
+		if (this.cache.remove(key) != null && logger.isDebugEnabled()) {
+			logger.debug("Invalidated cached Redis hash " + key);
+		}
+		this.invalidationListener.accept(key);
+	}
+
+	/**
+	 * Callback for tests, invoked with the key of each keyspace notification after the
+	 * cached hash was dropped.
+	 */
+	void setInvalidationListener(Consumer<String> invalidationListener) {
+		this.invalidationListener = invalidationListener;
+	}
+
+	/**
+	 * Reads the hashes of all keys in a single pipelined round trip.
+	 * @param keys the keys to read
+	 * @return the hash entries of each key, in the order of the keys
+	 */
+	private List<Map<?, ?>> entries(List<String> keys) {
+		List<Object> results = this.redis.executePipelined((RedisCallback<Object>) connection -> {
+			StringRedisConnection stringConnection = (StringRedisConnection) connection;
+			for (String key : keys) {
+				stringConnection.hGetAll(key);
+			}
+			return null;
+		});
+		List<Map<?, ?>> hashes = new ArrayList<>(keys.size());
+		for (Object result : results) {
+			hashes.add(result instanceof Map<?, ?> map ? map : Collections.emptyMap());
+		}
+		return hashes;
+	}
+
 	private List<String> addKeys(String application, List<String> profiles) {
 		List<String> keys = new ArrayList<>();
 		keys.add(application);
@@ -16,9 +16,11 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.micrometer.observation.ObservationRegistry;
 
@@ -67,6 +69,56 @@ public class SearchPathCompositeEnvironmentRepository extends CompositeEnvironme
 		return new Locations(application, profile, label, null, locations.toArray(new String[locations.size()]));
 	}
 
+	/**
+	 * Nests the callbacks of the underlying locators, so that each of them stays on the
+	 * located version until the callback has run.
+	 */
+	@Override
+	public <T> T withLocations(String application, String profile, String label, LocationsCallback<T> callback)
+			throws IOException {
+		return withLocations(application, profile, label, 0, new ArrayList<>(), callback);
+	}
+
+	private <T> T withLocations(String application, String profile, String label, int index, List<String> locations,
+			LocationsCallback<T> callback) throws IOException {
+		if (index == this.environmentRepositories.size()) {
+			return callback.doWithLocations(
+					new Locations(application, profile, label, null, locations.toArray(new String[locations.size()])));
+		}
+		EnvironmentRepository repo = this.environmentRepositories.get(index);
+		SearchPathLocator searchPathLocator = getSearchPathLocator(repo);
+		if (searchPathLocator == null) {
+			return withLocations(application, profile, label, index + 1, locations, callback);
+		}
+		AtomicBoolean located = new AtomicBoolean();
+		try {
+			return searchPathLocator.withLocations(application, profile, label, resolved -> {
+				located.set(true);
+				List<String> all = new ArrayList<>(locations);
+				all.addAll(Arrays.asList(resolved.getLocations()));
+				return withLocations(application, profile, label, index + 1, all, callback);
+			});
+		}
+		catch (RepositoryException ex) {
+			if (failOnError || located.get()) {
+				throw ex;
+			}
+			log.info("Error finding locations for " + repo, ex);
+			return withLocations(application, profile, label, index + 1, locations, callback);
+		}
+	}
+
+	private static SearchPathLocator getSearchPathLocator(EnvironmentRepository repo) {
+		if (repo instanceof SearchPathLocator searchPathLocator) {
+			return searchPathLocator;
+		}
+		if (repo instanceof ObservationEnvironmentRepositoryWrapper wrapper
+				&& wrapper.getDelegate() instanceof SearchPathLocator searchPathLocator) {
+			return searchPathLocator;
+		}
+		return null;
+	}
+
 	private void addForSearchPathLocators(String application, String profile, String label, List<String> locations,
 			SearchPathLocator searchPathLocator) {
 		locations.addAll(Arrays.asList(searchPathLocator.getLocations(application, profile, label).getLocations()));
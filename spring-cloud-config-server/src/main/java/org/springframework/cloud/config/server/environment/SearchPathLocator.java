@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -30,6 +31,36 @@ public interface SearchPathLocator {
 
 	Locations getLocations(String application, String profile, String label);
 
+	/**
+	 * Locates the search path and passes it to the callback before the repository can
+	 * move to another label or version, e.g. so that a file can be opened before another
+	 * request checks out a different branch in the same working copy. Repositories that
+	 * update their files on disk override this to hold their lock during the callback.
+	 * @param application the application name
+	 * @param profile the profile(s)
+	 * @param label the label, or null for the default
+	 * @param callback the callback to invoke with the locations
+	 * @param <T> the type of the result
+	 * @return the result of the callback
+	 * @throws IOException if thrown by the callback
+	 */
+	default <T> T withLocations(String application, String profile, String label, LocationsCallback<T> callback)
+			throws IOException {
+		return callback.doWithLocations(getLocations(application, profile, label));
+	}
+
+	/**
+	 * Callback for {@link SearchPathLocator#withLocations}.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	interface LocationsCallback<T> {
+
+		T doWithLocations(Locations locations) throws IOException;
+
+	}
+
 	/**
 	 * Locations POJO.
 	 */
@@ -45,12 +76,31 @@ public interface SearchPathLocator {
 
 		private final String version;
 
+		private final boolean commitVersion;
+
 		public Locations(String application, String profile, String label, String version, String[] locations) {
+			this(application, profile, label, version, locations, false);
+		}
+
+		/**
+		 * Creates new locations.
+		 * @param application the application name
+		 * @param profile the profile(s)
+		 * @param label the label
+		 * @param version the version of the repository
+		 * @param locations the search locations
+		 * @param commitVersion whether the version is a commit (e.g. in git or SVN), so
+		 * that files under the locations cannot change as long as the version stays the
+		 * same
+		 */
+		public Locations(String application, String profile, String label, String version, String[] locations,
+				boolean commitVersion) {
 			this.application = application;
 			this.profile = profile;
 			this.label = label;
 			this.locations = locations;
 			this.version = version;
+			this.commitVersion = commitVersion;
 		}
 
 		public String[] getLocations() {
@@ -61,6 +111,16 @@ public interface SearchPathLocator {
 			return this.version;
 		}
 
+		/**
+		 * Whether the version is a commit that identifies the content of the locations.
+		 * Other versions (e.g. the configured version of a native repository) stay the
+		 * same when files are edited.
+		 * @return true if the version is a commit
+		 */
+		public boolean isCommitVersion() {
+			return this.commitVersion;
+		}
+
 		public String getApplication() {
 			return this.application;
 		}
@@ -76,7 +136,8 @@ public interface SearchPathLocator {
 		@Override
 		public String toString() {
 			return "Locations [application=" + this.application + ", profile=" + this.profile + ", label=" + this.label
-					+ ", locations=" + Arrays.toString(this.locations) + ", version=" + this.version + "]";
+					+ ", locations=" + Arrays.toString(this.locations) + ", version=" + this.version
+					+ ", commitVersion=" + this.commitVersion + "]";
 		}
 
 		@Override
@@ -91,12 +152,13 @@ public interface SearchPathLocator {
 			return getApplication().equals(locations1.getApplication()) && getProfile().equals(locations1.getProfile())
 					&& Objects.equals(getLabel(), locations1.getLabel())
 					&& Arrays.equals(getLocations(), locations1.getLocations())
-					&& Objects.equals(getVersion(), locations1.getVersion());
+					&& Objects.equals(getVersion(), locations1.getVersion())
+					&& isCommitVersion() == locations1.isCommitVersion();
 		}
 
 		@Override
 		public int hashCode() {
-			int result = Objects.hash(getApplication(), getProfile(), getLabel(), getVersion());
+			int result = Objects.hash(getApplication(), getProfile(), getLabel(), getVersion(), isCommitVersion());
 			result = 31 * result + Arrays.hashCode(getLocations());
 			return result;
 		}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.environment;
+
+import java.util.concurrent.Executor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.config.environment.Environment;
+
+/**
+ * A delegating {@link EnvironmentRepository} that records every environment it serves in
+ * an {@link EnvironmentSnapshotStore}. After a restart, requests for a key that has a
+ * snapshot are answered from the snapshot straight away while the delegate is queried in
+ * the background. Once a key has been refreshed from the delegate, subsequent requests go
+ * to the delegate as usual.
+ */
+public class SnapshotEnvironmentRepository implements EnvironmentRepository {
+
+	private static final Log logger = LogFactory.getLog(SnapshotEnvironmentRepository.class);
+
+	private final EnvironmentRepository delegate;
+
+	private final EnvironmentSnapshotStore store;
+
+	private final Executor executor;
+
+	public SnapshotEnvironmentRepository(EnvironmentRepository delegate, EnvironmentSnapshotStore store) {
+		this(delegate, store, store.getRefreshExecutor());
+	}
+
+	public SnapshotEnvironmentRepository(EnvironmentRepository delegate, EnvironmentSnapshotStore store,
+			Executor executor) {
+		this.delegate = delegate;
+		this.store = store;
+		this.executor = executor;
+	}
+
+	@Override
+	public Environment findOne(String application, String profile, String label) {
+		return findOne(application, profile, label, false);
+	}
+
+	@Override
+	public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+		if (includeOrigin) {
+			// origins do not survive serialization, so they are never snapshotted
+			return this.delegate.findOne(application, profile, label, true);
+		}
+		String key = EnvironmentSnapshotStore.key(application, profile, label);
+		if (!this.store.isReconciled(key)) {
+			Environment snapshot = this.store.get(key);
+			if (snapshot != null) {
+				if (this.store.startReconciling(key)) {
+					this.executor.execute(() -> reconcile(key, application, profile, label));
+				}
+				return snapshot;
+			}
+		}
+		Environment environment = this.delegate.findOne(application, profile, label, false);
+		this.store.record(key, environment);
+		return environment;
+	}
+
+	private void reconcile(String key, String application, String profile, String label) {
+		try {
+			this.store.save(key, this.delegate.findOne(application, profile, label, false));
+		}
+		catch (Exception e) {
+			this.store.reconcileFailed(key);
+			logger.warn("Could not refresh environment snapshot for " + key + ", serving last known good state: "
+					+ e.getMessage());
+		}
+	}
+
+	public EnvironmentRepository getDelegate() {
+		return this.delegate;
+	}
+
+}
@@ -87,7 +87,7 @@ public class SvnKitEnvironmentRepository extends AbstractScmEnvironmentRepositor
 			else {
 				version = checkout(svnOperationFactory);
 			}
-			return new Locations(application, profile, label, version, getPaths(application, profile, label));
+			return new Locations(application, profile, label, version, getPaths(application, profile, label), true);
 		}
 		catch (SVNException e) {
 			throw new IllegalStateException("Cannot checkout repository", e);
@@ -74,6 +74,18 @@ public class VaultEnvironmentProperties implements HttpEnvironmentRepositoryProp
 	/** Vault profile separator. Defaults to comma. */
 	private String profileSeparator = ",";
 
+	/**
+	 * Maximum number of Vault keys read concurrently for a single request. Defaults to 1,
+	 * which reads the keys one after the other.
+	 */
+	private int readConcurrency = 1;
+
+	/**
+	 * Time to live of cached Vault responses, per key and token. Shortened to the lease
+	 * duration returned by Vault, if any. Defaults to zero, which disables the cache.
+	 */
+	private Duration cacheTtl = Duration.ZERO;
+
 	/**
 	 * Flag to indicate that SSL certificate validation should be bypassed when
 	 * communicating with a repository served over an HTTPS connection.
@@ -132,6 +144,8 @@ public class VaultEnvironmentProperties implements HttpEnvironmentRepositoryProp
 
 	private Ssl ssl = new Ssl();
 
+	private Session session = new Session();
+
 	private AuthenticationMethod authentication;
 
 	public String getHost() {
@@ -226,6 +240,22 @@ public class VaultEnvironmentProperties implements HttpEnvironmentRepositoryProp
 		this.timeout = timeout;
 	}
 
+	public int getReadConcurrency() {
+		return this.readConcurrency;
+	}
+
+	public void setReadConcurrency(int readConcurrency) {
+		this.readConcurrency = readConcurrency;
+	}
+
+	public Duration getCacheTtl() {
+		return this.cacheTtl;
+	}
+
+	public void setCacheTtl(Duration cacheTtl) {
+		this.cacheTtl = cacheTtl;
+	}
+
 	public int getKvVersion() {
 		return this.kvVersion;
 	}
@@ -302,6 +332,10 @@ public class VaultEnvironmentProperties implements HttpEnvironmentRepositoryProp
 		return this.ssl;
 	}
 
+	public Session getSession() {
+		return this.session;
+	}
+
 	public void setAuthentication(AuthenticationMethod authentication) {
 		this.authentication = authentication;
 	}
@@ -973,4 +1007,54 @@ public class VaultEnvironmentProperties implements HttpEnvironmentRepositoryProp
 
 	}
 
+	/**
+	 * Session management properties.
+	 */
+	public static class Session {
+
+		/**
+		 * Flag to indicate that a new login should be performed for every request, instead
+		 * of caching and renewing the session token. Tokens supplied per request through
+		 * the X-Config-Token header are always handled this way.
+		 */
+		private boolean stateless = false;
+
+		/**
+		 * Time before token expiry at which the cached session token is renewed (or a new
+		 * login is performed) in the background.
+		 */
+		private Duration refreshBeforeExpiry = Duration.ofSeconds(5);
+
+		/**
+		 * Minimum remaining time to live for a cached session token to be used. Tokens
+		 * closer to expiry are replaced by a new login.
+		 */
+		private Duration expiryThreshold = Duration.ofSeconds(7);
+
+		public boolean isStateless() {
+			return this.stateless;
+		}
+
+		public void setStateless(boolean stateless) {
+			this.stateless = stateless;
+		}
+
+		public Duration getRefreshBeforeExpiry() {
+			return this.refreshBeforeExpiry;
+		}
+
+		public void setRefreshBeforeExpiry(Duration refreshBeforeExpiry) {
+			this.refreshBeforeExpiry = refreshBeforeExpiry;
+		}
+
+		public Duration getExpiryThreshold() {
+			return this.expiryThreshold;
+		}
+
+		public void setExpiryThreshold(Duration expiryThreshold) {
+			this.expiryThreshold = expiryThreshold;
+		}
+
+	}
+
 }
@@ -32,6 +32,8 @@ import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.util.StringUtils;
 import org.springframework.vault.VaultException;
 import org.springframework.vault.authentication.ClientAuthentication;
+import org.springframework.vault.authentication.LifecycleAwareSessionManager;
+import org.springframework.vault.authentication.LifecycleAwareSessionManagerSupport.FixedTimeoutRefreshTrigger;
 import org.springframework.vault.authentication.SessionManager;
 import org.springframework.vault.client.RestTemplateBuilder;
 import org.springframework.vault.client.VaultClients;
@@ -112,7 +114,9 @@ public class SpringVaultClientConfiguration extends AbstractVaultConfiguration {
 	 * persisted in {@link LifecycleAwareSessionManager} and not what is set in the
 	 * header. By using {@link StatelessSessionManager} when a token is provided via a
 	 * header, we ensure that the token we use to make the request to Vault is the one
-	 * provided in the header.
+	 * provided in the header. In all other cases the token is cached, and renewed in the
+	 * background before it expires, according to the configured session properties
+	 * (unless stateless sessions are requested explicitly).
 	 */
 	@Override
 	@Bean
@@ -120,7 +124,13 @@ public class SpringVaultClientConfiguration extends AbstractVaultConfiguration {
 		if (vaultProperties.getAuthentication() == null && !StringUtils.hasText(vaultProperties.getToken())) {
 			return new StatelessSessionManager(clientAuthentication());
 		}
-		return super.sessionManager();
+		VaultEnvironmentProperties.Session session = vaultProperties.getSession();
+		if (session.isStateless()) {
+			return new StatelessSessionManager(clientAuthentication());
+		}
+		return new LifecycleAwareSessionManager(clientAuthentication(), getVaultThreadPoolTaskScheduler(),
+				restOperations(),
+				new FixedTimeoutRefreshTrigger(session.getRefreshBeforeExpiry(), session.getExpiryThreshold()));
 	}
 
 	@Override
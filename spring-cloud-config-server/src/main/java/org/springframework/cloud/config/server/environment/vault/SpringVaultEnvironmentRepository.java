@@ -16,11 +16,22 @@
 
 package org.springframework.cloud.config.server.environment.vault;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import jakarta.servlet.http.HttpServletRequest;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.json.JsonMapper;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.config.client.ConfigClientProperties;
 import org.springframework.cloud.config.server.environment.AbstractVaultEnvironmentRepository;
 import org.springframework.cloud.config.server.environment.EnvironmentWatch;
 import org.springframework.cloud.config.server.environment.VaultEnvironmentProperties;
@@ -35,12 +46,28 @@ import org.springframework.vault.support.VaultResponse;
 @Validated
 public class SpringVaultEnvironmentRepository extends AbstractVaultEnvironmentRepository {
 
+	private static final int MAX_CACHE_SIZE = 1000;
+
 	private VaultKeyValueOperations keyValueTemplate;
 
 	private final JsonMapper objectMapper;
 
 	private String path = "";
 
+	private final Duration cacheTtl;
+
+	private final Map<CacheKey, CachedResponse> cache = Collections
+		.synchronizedMap(new LinkedHashMap<CacheKey, CachedResponse>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedResponse> eldest) {
+				return size() > MAX_CACHE_SIZE;
+			}
+
+		});
+
+	private Clock clock = Clock.systemUTC();
+
 	public SpringVaultEnvironmentRepository(ObjectProvider<HttpServletRequest> request, EnvironmentWatch watch,
 			VaultEnvironmentProperties properties, VaultKeyValueOperations keyValueTemplate) {
 		super(request, watch, properties);
@@ -49,10 +76,11 @@ public class SpringVaultEnvironmentRepository extends AbstractVaultEnvironmentRe
 			path = properties.getPathToKey() + "/";
 		}
 		this.objectMapper = new JsonMapper();
+		this.cacheTtl = properties.getCacheTtl();
 	}
 
 	protected String read(String key) {
-		VaultResponse response = this.keyValueTemplate.get(this.path + key);
+		VaultResponse response = getResponse(this.path + key);
 		if (response != null) {
 			try {
 				return objectMapper.writeValueAsString(response.getData());
@@ -64,8 +92,78 @@ public class SpringVaultEnvironmentRepository extends AbstractVaultEnvironmentRe
 		return null;
 	}
 
+	@Override
+	protected Map<?, ?> readProperties(String key) {
+		VaultResponse response = getResponse(this.path + key);
+		if (response != null && response.getData() != null) {
+			return flatten(response.getData());
+		}
+		return null;
+	}
+
+	private VaultResponse getResponse(String path) {
+		if (this.cacheTtl == null || this.cacheTtl.isZero() || this.cacheTtl.isNegative()) {
+			return this.keyValueTemplate.get(path);
+		}
+		// tokens may carry different policies, so responses are never shared between them
+		CacheKey cacheKey = new CacheKey(hash(getRequestToken()), path);
+		long now = this.clock.millis();
+		CachedResponse cached = this.cache.get(cacheKey);
+		if (cached != null && cached.expires() > now) {
+			return cached.response();
+		}
+		VaultResponse response = this.keyValueTemplate.get(path);
+		Duration ttl = this.cacheTtl;
+		if (response != null && response.getLeaseDuration() > 0) {
+			Duration lease = Duration.ofSeconds(response.getLeaseDuration());
+			ttl = lease.compareTo(ttl) < 0 ? lease : ttl;
+		}
+		this.cache.put(cacheKey, new CachedResponse(response, now + ttl.toMillis()));
+		return response;
+	}
+
+	/**
+	 * Hashes the token, so that the cache does not keep raw tokens in memory.
+	 */
+	private static String hash(String token) {
+		if (token.isEmpty()) {
+			return token;
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private String getRequestToken() {
+		HttpServletRequest servletRequest = this.request.getIfAvailable();
+		if (servletRequest != null) {
+			try {
+				String token = servletRequest.getHeader(ConfigClientProperties.TOKEN_HEADER);
+				return token != null ? token : "";
+			}
+			catch (IllegalStateException e) {
+				return "";
+			}
+		}
+		return "";
+	}
+
 	public VaultKeyValueOperations getKeyValueTemplate() {
 		return this.keyValueTemplate;
 	}
 
+	void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	private record CacheKey(String token, String path) {
+	}
+
+	private record CachedResponse(VaultResponse response, long expires) {
+	}
+
 }
@@ -16,35 +16,29 @@
 
 package org.springframework.cloud.config.server.environment.vault;
 
-import java.util.concurrent.locks.ReentrantLock;
-
 import org.springframework.util.Assert;
 import org.springframework.vault.authentication.ClientAuthentication;
 import org.springframework.vault.authentication.SessionManager;
 import org.springframework.vault.support.VaultToken;
 
 /**
+ * {@link SessionManager} that performs a login for every token request. Used when the
+ * token is supplied per request, so nothing is shared between callers and no locking is
+ * needed.
+ *
  * @author Ryan Baxter
  */
 public class StatelessSessionManager implements SessionManager {
 
 	private final ClientAuthentication clientAuthentication;
 
-	private final ReentrantLock lock = new ReentrantLock();
-
 	public StatelessSessionManager(ClientAuthentication clientAuthentication) {
 		Assert.notNull(clientAuthentication, "ClientAuthentication must not be null");
 		this.clientAuthentication = clientAuthentication;
 	}
 
 	public VaultToken getSessionToken() {
-		this.lock.lock();
-		try {
-			return this.clientAuthentication.login();
-		}
-		finally {
-			this.lock.unlock();
-		}
+		return this.clientAuthentication.login();
 	}
 
 }
@@ -21,11 +21,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.cloud.config.server.config.ConfigServerProperties;
 import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.cloud.config.server.environment.SearchPathLocator.Locations;
 import org.springframework.cloud.config.server.support.PathUtils;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.core.io.Resource;
@@ -40,12 +44,24 @@ import org.springframework.util.StringUtils;
  */
 public class GenericResourceRepository implements ResourceRepository, ResourceLoaderAware {
 
+	private static final int CACHE_SIZE = 1000;
+
 	private ResourceLoader resourceLoader;
 
 	private SearchPathLocator service;
 
 	private ConfigServerProperties properties;
 
+	private final Map<CacheKey, Resource> cache = Collections
+		.synchronizedMap(new LinkedHashMap<CacheKey, Resource>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Resource> eldest) {
+				return size() > CACHE_SIZE;
+			}
+
+		});
+
 	public GenericResourceRepository(SearchPathLocator service) {
 		this.service = service;
 	}
@@ -61,36 +77,65 @@ public class GenericResourceRepository implements ResourceRepository, ResourceLo
 	}
 
 	@Override
-	public synchronized Resource findOne(String application, String profile, String label, String path) {
+	public Resource findOne(String application, String profile, String label, String path) {
+		if (!StringUtils.hasText(path)) {
+			throw new NoSuchResourceException("Not found: " + path);
+		}
+		return findOne(this.service.getLocations(application, profile, label), application, profile, label, path);
+	}
 
-		if (StringUtils.hasText(path)) {
-			String[] locations = this.service.getLocations(application, profile, label).getLocations();
-			if (!ObjectUtils.isEmpty(properties) && properties.isReverseLocationOrder()) {
-				Collections.reverse(Arrays.asList(locations));
+	@Override
+	public <T> T findOne(String application, String profile, String label, String path, ResourceCallback<T> callback)
+			throws IOException {
+		if (!StringUtils.hasText(path)) {
+			throw new NoSuchResourceException("Not found: " + path);
+		}
+		return this.service.withLocations(application, profile, label,
+				resolved -> callback.doWithResource(findOne(resolved, application, profile, label, path),
+						resolved.isCommitVersion() ? resolved.getVersion() : null));
+	}
+
+	private Resource findOne(Locations resolved, String application, String profile, String label, String path) {
+		String[] locations = resolved.getLocations();
+		if (!ObjectUtils.isEmpty(properties) && properties.isReverseLocationOrder()) {
+			Collections.reverse(Arrays.asList(locations));
+		}
+		// Only a commit (e.g. in git) guarantees that the files found last time are still
+		// the ones to serve, other versions stay the same when files are added or deleted
+		CacheKey key = null;
+		if (resolved.isCommitVersion() && resolved.getVersion() != null) {
+			key = new CacheKey(application, profile, label, path, resolved.getVersion(),
+					Arrays.asList(locations.clone()));
+			Resource cached = this.cache.get(key);
+			if (cached != null) {
+				return cached;
 			}
-			ArrayList<Resource> locationResources = new ArrayList<>();
-			for (String location : locations) {
-				if (!PathUtils.isInvalidEncodedLocation(location)) {
-					locationResources.add(this.resourceLoader.getResource(location.replaceFirst("optional:", "")));
-				}
+		}
+		ArrayList<Resource> locationResources = new ArrayList<>();
+		for (String location : locations) {
+			if (!PathUtils.isInvalidEncodedLocation(location)) {
+				locationResources.add(this.resourceLoader.getResource(location.replaceFirst("optional:", "")));
 			}
+		}
 
-			try {
-				for (Resource location : locationResources) {
-					for (String local : getProfilePaths(profile, path)) {
-						if (!PathUtils.isInvalidPath(local) && !PathUtils.isInvalidEncodedPath(local)) {
-							Resource file = location.createRelative(local);
-							if (file.exists() && file.isReadable()
-									&& PathUtils.checkResource(file, location, locationResources)) {
-								return file;
+		try {
+			for (Resource location : locationResources) {
+				for (String local : getProfilePaths(profile, path)) {
+					if (!PathUtils.isInvalidPath(local) && !PathUtils.isInvalidEncodedPath(local)) {
+						Resource file = location.createRelative(local);
+						if (file.exists() && file.isReadable()
+								&& PathUtils.checkResource(file, location, locationResources)) {
+							if (key != null) {
+								this.cache.put(key, file);
 							}
+							return file;
 						}
 					}
 				}
 			}
-			catch (IOException e) {
-				throw new NoSuchResourceException("Error : " + path + ". (" + e.getMessage() + ")");
-			}
+		}
+		catch (IOException e) {
+			throw new NoSuchResourceException("Error : " + path + ". (" + e.getMessage() + ")");
 		}
 		throw new NoSuchResourceException("Not found: " + path);
 	}
@@ -118,4 +163,8 @@ public class GenericResourceRepository implements ResourceRepository, ResourceLo
 		return paths;
 	}
 
+	private record CacheKey(String application, String profile, String label, String path, String version,
+			List<String> locations) {
+	}
+
 }
@@ -16,12 +16,25 @@
 
 package org.springframework.cloud.config.server.resource;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -34,7 +47,10 @@ import org.springframework.cloud.config.server.environment.EnvironmentRepository
 import org.springframework.cloud.config.server.environment.InvalidEnvironmentRequestException;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -45,6 +61,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UrlPathHelper;
 
 import static org.springframework.cloud.config.server.support.EnvironmentPropertySource.prepareEnvironment;
@@ -68,6 +85,8 @@ import static org.springframework.cloud.config.server.support.PathUtils.isInvali
 @RequestMapping(method = RequestMethod.GET, path = "${spring.cloud.config.server.prefix:}")
 public class ResourceController {
 
+	private static final int ETAG_CACHE_SIZE = 1000;
+
 	private static Log logger = LogFactory.getLog(ResourceController.class);
 
 	private ResourceRepository resourceRepository;
@@ -84,6 +103,28 @@ public class ResourceController {
 
 	private boolean validateProfiles = true;
 
+	private final Map<ETagKey, String> eTags = Collections
+		.synchronizedMap(new LinkedHashMap<ETagKey, String>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ETagKey, String> eldest) {
+				return size() > ETAG_CACHE_SIZE;
+			}
+
+		});
+
+	private int plainTextCacheSize;
+
+	private final Map<TextKey, String> texts = Collections
+		.synchronizedMap(new LinkedHashMap<TextKey, String>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<TextKey, String> eldest) {
+				return size() > ResourceController.this.plainTextCacheSize;
+			}
+
+		});
+
 	public ResourceController(ResourceRepository resourceRepository, EnvironmentRepository environmentRepository,
 			Map<String, ResourceEncryptor> resourceEncryptorMap) {
 		this.resourceRepository = resourceRepository;
@@ -106,6 +147,18 @@ public class ResourceController {
 		this.plainTextEncryptEnabled = plainTextEncryptEnabled;
 	}
 
+	/**
+	 * Sets the number of rendered plain text resources kept in memory. A rendered text is
+	 * only cached when the resource was located in a commit (e.g. in git) and the
+	 * environment was resolved for the same commit, and is reused while the resource, the
+	 * commit, the charset and the placeholder flag stay the same.
+	 * @param plainTextCacheSize the maximum number of cached texts, 0 to disable caching
+	 */
+	public void setPlainTextCacheSize(int plainTextCacheSize) {
+		this.plainTextCacheSize = plainTextCacheSize;
+		this.texts.clear();
+	}
+
 	/**
 	 * Flag to indicate that spring profiles are to be validated (default true). If set to
 	 * false, then profiles with invalid characters (e.g. '-') will throw an exception.
@@ -148,56 +201,96 @@ public class ResourceController {
 	}
 
 	/**
-	 * This method is synchronized because the underlying EnvironmentRespositorys may not
-	 * be threadsafe (JGit for example). Calling this method could result in an update to
-	 * the files on disk.
+	 * Calling this method could result in an update to the files on disk. The content is
+	 * read while the resource repository holds the version it was located in, so that
+	 * another request checking out a different label (JGit for example) cannot change it
+	 * in between.
 	 */
-	synchronized String retrieve(ServletWebRequest request, String name, String profile, String label, String path,
+	String retrieve(ServletWebRequest request, String name, String profile, String label, String path,
 			boolean resolvePlaceholders, String acceptedCharset) throws IOException {
-		name = normalize(name);
-		label = normalize(label);
+		String application = normalize(name);
+		String resolvedLabel = normalize(label);
 		if (this.validateProfiles && isInvalidProfiles(profile)) {
 			throw new InvalidEnvironmentRequestException("Invalid request");
 		}
-		path = normalize(path);
-		Resource resource = this.resourceRepository.findOne(name, profile, label, path);
-		if (checkNotModified(request, resource)) {
+		Charset charset = getCharset(acceptedCharset);
+		ResourceText content = this.resourceRepository.findOne(application, profile, resolvedLabel, normalize(path),
+				(resource, version) -> {
+					if (checkNotModified(request, resource)) {
+						return null;
+					}
+					TextKey key = getTextKey(resource, version, application, profile, resolvedLabel, charset,
+							resolvePlaceholders);
+					if (key != null) {
+						String text = this.texts.get(key);
+						if (text != null) {
+							return new ResourceText(resource, key, text, true);
+						}
+					}
+					// ensure InputStream will be closed to prevent file locks on Windows
+					try (InputStream is = resource.getInputStream()) {
+						return new ResourceText(resource, key, StreamUtils.copyToString(is, charset), false);
+					}
+				});
+		if (content == null) {
 			// Content was not modified. Just return.
 			return null;
 		}
-		// ensure InputStream will be closed to prevent file locks on Windows
-		try (InputStream is = resource.getInputStream()) {
-
-			Charset charset = StandardCharsets.UTF_8;
-			try {
-				charset = Charset.forName(acceptedCharset);
+		if (content.rendered()) {
+			return content.text();
+		}
+		Resource resource = content.resource();
+		Environment environment = this.environmentRepository.findOne(application, profile, resolvedLabel, false);
+		String text = content.text();
+		String ext = StringUtils.getFilenameExtension(resource.getFilename());
+		if (ext != null) {
+			ext = ext.toLowerCase(Locale.ROOT);
+		}
+		if (resolvePlaceholders) {
+			text = resolvePlaceholders(prepareEnvironment(environment), text);
+		}
+		if (ext != null && encryptEnabled && plainTextEncryptEnabled) {
+			ResourceEncryptor re = this.resourceEncryptorMap.get(ext);
+			if (re == null) {
+				logger.warn("Cannot decrypt for extension " + ext);
 			}
-			catch (UnsupportedCharsetException e) {
-				logger.warn("The accepted charset received from the client is not supported. Using UTF-8 instead.", e);
+			else {
+				text = re.decrypt(text, environment);
 			}
+		}
+		// Another request may have moved the repository on since the resource was read, so
+		// only cache a text rendered with the environment of the same version
+		TextKey key = content.key();
+		if (key != null && environment != null && key.version().equals(environment.getVersion())) {
+			this.texts.put(key, text);
+		}
+		return text;
+	}
 
-			String text = StreamUtils.copyToString(is, charset);
-			String ext = StringUtils.getFilenameExtension(resource.getFilename());
-			if (ext != null) {
-				ext = ext.toLowerCase(Locale.ROOT);
-			}
-			Environment environment = this.environmentRepository.findOne(name, profile, label, false);
-			if (resolvePlaceholders) {
-				text = resolvePlaceholders(prepareEnvironment(environment), text);
-			}
-			if (ext != null && encryptEnabled && plainTextEncryptEnabled) {
-				ResourceEncryptor re = this.resourceEncryptorMap.get(ext);
-				if (re == null) {
-					logger.warn("Cannot decrypt for extension " + ext);
-				}
-				else {
-					text = re.decrypt(text, environment);
-				}
-			}
-			return text;
+	private static Charset getCharset(String acceptedCharset) {
+		try {
+			return Charset.forName(acceptedCharset);
+		}
+		catch (UnsupportedCharsetException e) {
+			logger.warn("The accepted charset received from the client is not supported. Using UTF-8 instead.", e);
+			return StandardCharsets.UTF_8;
 		}
 	}
 
+	/**
+	 * Returns the key of the rendered text, or null if it should not be cached. Only
+	 * resources located in a commit (e.g. in git) are cached, since otherwise there is no
+	 * way to tell that the values or the resource have changed.
+	 */
+	private TextKey getTextKey(Resource resource, String version, String name, String profile, String label,
+			Charset charset, boolean resolvePlaceholders) {
+		if (this.plainTextCacheSize <= 0 || version == null) {
+			return null;
+		}
+		return new TextKey(resource, lastModified(resource), name, profile, label, version, charset,
+				resolvePlaceholders);
+	}
+
 	private String normalize(String part) {
 		if (isInvalidEncodedLocation(part)) {
 			throw new InvalidEnvironmentRequestException("Invalid request");
@@ -214,16 +307,16 @@ public class ResourceController {
 	}
 
 	@GetMapping(value = "/{name}/{profile}/{label}/**", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-	public byte[] binary(@PathVariable String name, @PathVariable String profile, @PathVariable String label,
-			ServletWebRequest request) throws IOException {
+	public ResponseEntity<StreamingResponseBody> binary(@PathVariable String name, @PathVariable String profile,
+			@PathVariable String label, ServletWebRequest request) throws IOException {
 		String path = getFilePath(request, name, profile, label);
 		return binary(request, name, profile, label, path);
 	}
 
 	@GetMapping(value = "/{name}/{profile}/{path:.*}", params = "useDefaultLabel",
 			produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-	public byte[] binaryDefault(@PathVariable String name, @PathVariable String profile, @PathVariable String path,
-			ServletWebRequest request) throws IOException {
+	public ResponseEntity<StreamingResponseBody> binaryDefault(@PathVariable String name,
+			@PathVariable String profile, @PathVariable String path, ServletWebRequest request) throws IOException {
 		return binary(request, name, profile, null, path);
 	}
 
@@ -231,26 +324,215 @@ public class ResourceController {
 	 * Used only for unit tests.
 	 */
 	byte[] binary(String name, String profile, String label, String path) throws IOException {
-		return binary(null, name, profile, label, path);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		binary(null, name, profile, label, path).getBody().writeTo(output);
+		return output.toByteArray();
 	}
 
-	private synchronized byte[] binary(ServletWebRequest request, String name, String profile, String label,
-			String path) throws IOException {
-		name = normalize(name);
-		label = normalize(label);
+	private ResponseEntity<StreamingResponseBody> binary(ServletWebRequest request, String name, String profile,
+			String label, String path) throws IOException {
+		String application = normalize(name);
+		String resolvedLabel = normalize(label);
 		if (this.validateProfiles && isInvalidProfiles(profile)) {
 			throw new InvalidEnvironmentRequestException("Invalid request");
 		}
-		path = normalize(path);
-		Resource resource = this.resourceRepository.findOne(name, profile, label, path);
-		if (checkNotModified(request, resource)) {
+		// Open the content while the resource repository holds the version it was located
+		// in, so that it is not replaced by another request checking out a different label.
+		// Hashing a large file takes a while, so the ETag is computed from the open channel
+		// once the repository is released.
+		BinaryContent content = this.resourceRepository.findOne(application, profile, resolvedLabel, normalize(path),
+				(resource, version) -> open(request, application, profile, resolvedLabel, resource, version));
+		if (content == null) {
 			// Content was not modified. Just return.
 			return null;
 		}
+		if (content.channel() == null) {
+			return content.response();
+		}
+		return binary(request, content);
+	}
+
+	private BinaryContent open(ServletWebRequest request, String name, String profile, String label, Resource resource,
+			String version) throws IOException {
 		// TODO: is this line needed for side effects?
 		prepareEnvironment(this.environmentRepository.findOne(name, profile, label));
-		try (InputStream is = resource.getInputStream()) {
-			return StreamUtils.copyToByteArray(is);
+		if (!resource.isFile()) {
+			if (checkNotModified(request, resource)) {
+				return null;
+			}
+			InputStream is = resource.getInputStream();
+			ResponseEntity<StreamingResponseBody> response = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(output -> {
+					// ensure InputStream will be closed to prevent file locks on Windows
+					try (is) {
+						is.transferTo(output);
+					}
+				});
+			return new BinaryContent(response, null, null, 0, -1);
+		}
+		FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			long lastModified = lastModified(resource);
+			return new BinaryContent(null, channel, getETagKey(version, resource, size, lastModified), size,
+					lastModified);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private ResponseEntity<StreamingResponseBody> binary(ServletWebRequest request, BinaryContent content)
+			throws IOException {
+		FileChannel channel = content.channel();
+		long size = content.size();
+		long lastModified = content.lastModified();
+		try {
+			String eTag = getETag(content.eTagKey(), channel, size);
+			if (checkNotModified(request, eTag, lastModified)) {
+				// Content was not modified. Just return.
+				channel.close();
+				return null;
+			}
+			HttpRange range = getRange(request, eTag);
+			if (range == null) {
+				return binaryResponse(HttpStatus.OK, eTag, lastModified).contentLength(size).body(output -> {
+					try (channel) {
+						transfer(channel, 0, size, output);
+					}
+				});
+			}
+			long start = rangeStart(range, size);
+			long end = start < 0 ? -1 : range.getRangeEnd(size);
+			if (start < 0 || start > end) {
+				channel.close();
+				return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+					.header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+					.build();
+			}
+			long count = end - start + 1;
+			return binaryResponse(HttpStatus.PARTIAL_CONTENT, eTag, lastModified)
+				.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+				.contentLength(count)
+				.body(output -> {
+					try (channel) {
+						transfer(channel, start, count, output);
+					}
+				});
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static long rangeStart(HttpRange range, long size) {
+		try {
+			return size > 0 ? range.getRangeStart(size) : -1;
+		}
+		catch (IllegalArgumentException e) {
+			// the range starts after the end of the content
+			return -1;
+		}
+	}
+
+	private static ResponseEntity.BodyBuilder binaryResponse(HttpStatus status, String eTag, long lastModified) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+			.contentType(MediaType.APPLICATION_OCTET_STREAM)
+			.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+			.eTag(eTag);
+		if (lastModified >= 0) {
+			response.lastModified(lastModified);
+		}
+		return response;
+	}
+
+	/**
+	 * Returns the key of the ETag of a file. A file located in a commit has the same
+	 * content as long as the commit stays the same, even if a checkout rewrites it, so it
+	 * is keyed by commit and path. Otherwise the modification time and size are part of
+	 * the key.
+	 */
+	private static ETagKey getETagKey(String version, Resource resource, long size, long lastModified)
+			throws IOException {
+		String path = resource.getFile().getAbsolutePath();
+		return version != null ? new ETagKey(version, path, -1, -1) : new ETagKey(null, path, lastModified, size);
+	}
+
+	/**
+	 * Returns a strong ETag for the content of a file, computed once per key.
+	 */
+	private String getETag(ETagKey key, FileChannel channel, long size) throws IOException {
+		String eTag = this.eTags.get(key);
+		if (eTag == null) {
+			eTag = hash(channel, size);
+			this.eTags.put(key, eTag);
+		}
+		return eTag;
+	}
+
+	private static String hash(FileChannel channel, long size) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(StreamUtils.BUFFER_SIZE);
+		long position = 0;
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			buffer.flip();
+			digest.update(buffer);
+			position += read;
+		}
+		return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+	}
+
+	/**
+	 * Returns the single byte range requested, or null if the whole content should be
+	 * sent. Multiple ranges, malformed ranges and stale <code>If-Range</code> conditions
+	 * are answered with the whole content.
+	 */
+	private static HttpRange getRange(ServletWebRequest request, String eTag) {
+		if (request == null) {
+			return null;
+		}
+		String header = request.getHeader(HttpHeaders.RANGE);
+		if (header == null) {
+			return null;
+		}
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange != null && !ifRange.trim().equals(eTag)) {
+			return null;
+		}
+		List<HttpRange> ranges;
+		try {
+			ranges = HttpRange.parseRanges(header);
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+		return ranges.size() == 1 ? ranges.get(0) : null;
+	}
+
+	private static void transfer(FileChannel channel, long position, long count, OutputStream output)
+			throws IOException {
+		WritableByteChannel target = Channels.newChannel(output);
+		while (count > 0) {
+			long transferred = channel.transferTo(position, count, target);
+			if (transferred <= 0) {
+				break;
+			}
+			position += transferred;
+			count -= transferred;
 		}
 	}
 
@@ -264,4 +546,37 @@ public class ResourceController {
 		return false;
 	}
 
+	private boolean checkNotModified(ServletWebRequest request, String eTag, long lastModified) {
+		try {
+			return request != null && request.checkNotModified(eTag, lastModified);
+		}
+		catch (Exception ex) {
+			// Ignore the exception since caching is optional.
+		}
+		return false;
+	}
+
+	private static long lastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	private record ResourceText(Resource resource, TextKey key, String text, boolean rendered) {
+	}
+
+	private record TextKey(Resource resource, long lastModified, String application, String profile, String label,
+			String version, Charset charset, boolean resolvePlaceholders) {
+	}
+
+	private record BinaryContent(ResponseEntity<StreamingResponseBody> response, FileChannel channel, ETagKey eTagKey,
+			long size, long lastModified) {
+	}
+
+	private record ETagKey(String version, String path, long lastModified, long size) {
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.resource;
 
+import java.io.IOException;
+
 import org.springframework.core.io.Resource;
 
 /**
@@ -26,4 +28,43 @@ public interface ResourceRepository {
 
 	Resource findOne(String name, String profile, String label, String path);
 
+	/**
+	 * Locates a resource and passes it to the callback before the underlying repository
+	 * can move to another label, so that the callback reads the content of the version
+	 * that was located even if other requests check out different labels concurrently.
+	 * @param name the application name
+	 * @param profile the profile(s)
+	 * @param label the label, or null for the default
+	 * @param path the path of the resource
+	 * @param callback the callback to invoke with the resource
+	 * @param <T> the type of the result
+	 * @return the result of the callback
+	 * @throws IOException if thrown by the callback
+	 */
+	default <T> T findOne(String name, String profile, String label, String path, ResourceCallback<T> callback)
+			throws IOException {
+		return callback.doWithResource(findOne(name, profile, label, path), null);
+	}
+
+	/**
+	 * Callback for {@link ResourceRepository#findOne(String, String, String, String,
+	 * ResourceCallback)}.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	interface ResourceCallback<T> {
+
+		/**
+		 * Invoked with a located resource.
+		 * @param resource the resource
+		 * @param version the commit the resource was located in (e.g. in git), or null if
+		 * the repository has no version that identifies the content of its files
+		 * @return the result
+		 * @throws IOException if the content cannot be read
+		 */
+		T doWithResource(Resource resource, String version) throws IOException;
+
+	}
+
 }
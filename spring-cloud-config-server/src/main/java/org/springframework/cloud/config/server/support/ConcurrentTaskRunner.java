@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs independent tasks on a bounded pool of daemon threads. Batches submitted with
+ * {@link #invokeAll(List)} return their results in the order of the tasks, and run on
+ * the calling thread when the concurrency is 1 (or less). The request attributes of the
+ * calling thread are made available to the pooled threads, so that request scoped state
+ * (such as a token header) can still be resolved. Idle threads are released after a
+ * minute, and the pool is shut down when the runner is destroyed.
+ * <p>
+ * A runner is not an {@link java.util.concurrent.Executor}, so that exposing one as a
+ * bean does not replace the application task executor.
+ */
+public class ConcurrentTaskRunner implements DisposableBean {
+
+	private final int concurrency;
+
+	private final ThreadPoolExecutor executor;
+
+	public ConcurrentTaskRunner(String threadNamePrefix, int concurrency) {
+		this.concurrency = Math.max(concurrency, 1);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(this.concurrency, this.concurrency, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	/**
+	 * Runs the tasks and waits for all of them. If a task fails the remaining ones are
+	 * cancelled and its exception is rethrown, checked exceptions wrapped in an
+	 * {@link IllegalStateException}.
+	 * @param tasks the tasks to run
+	 * @param <T> the type of the results
+	 * @return the results, in the same order as the tasks
+	 */
+	public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		if (this.concurrency < 2 || tasks.size() < 2) {
+			for (Callable<T> task : tasks) {
+				results.add(call(task));
+			}
+			return results;
+		}
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(this.executor.submit(() -> {
+				RequestContextHolder.setRequestAttributes(attributes);
+				try {
+					return task.call();
+				}
+				finally {
+					RequestContextHolder.resetRequestAttributes();
+				}
+			}));
+		}
+		try {
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		}
+		catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for concurrent tasks", e);
+		}
+		catch (ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Concurrent task failed", e.getCause());
+		}
+		return results;
+	}
+
+	private static <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		}
+		catch (Exception e) {
+			if (e instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Task failed", e);
+		}
+	}
+
+	/**
+	 * Runs the task in the background on one of the pooled threads, for example to
+	 * refresh a cache entry.
+	 * @param task the task to run
+	 */
+	public void execute(Runnable task) {
+		this.executor.execute(task);
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+
+}
@@ -20,6 +20,7 @@ import java.net.ProxySelector;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
@@ -37,6 +38,7 @@ import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContextBuilder;
 
 import org.springframework.cloud.config.server.environment.HttpClient4BuilderCustomizer;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentProperties;
 import org.springframework.cloud.config.server.proxy.ProxyHostProperties;
 import org.springframework.util.CollectionUtils;
 
@@ -87,8 +89,19 @@ public final class HttpClient4Support {
 
 		int timeout = environmentProperties.getTimeout() * 1000;
 		httpClientBuilder.setSSLContext(sslContextBuilder.build())
-			.setDefaultRequestConfig(
-					RequestConfig.custom().setSocketTimeout(timeout).setConnectTimeout(timeout).build());
+			.setDefaultRequestConfig(RequestConfig.custom()
+				.setSocketTimeout(timeout)
+				.setConnectTimeout(timeout)
+				.setConnectionRequestTimeout(timeout)
+				.build());
+		if (environmentProperties instanceof JGitEnvironmentProperties jgitProperties) {
+			httpClientBuilder.setMaxConnPerRoute(jgitProperties.getMaxConnectionsPerRoute())
+				.setMaxConnTotal(Math.max(jgitProperties.getMaxConnectionsPerRoute(), 20));
+			if (jgitProperties.getIdleConnectionTimeout() > 0) {
+				httpClientBuilder.evictExpiredConnections()
+					.evictIdleConnections(jgitProperties.getIdleConnectionTimeout(), TimeUnit.SECONDS);
+			}
+		}
 		customizers.forEach(customizer -> customizer.customize(httpClientBuilder));
 		return httpClientBuilder;
 	}
@@ -16,16 +16,22 @@
 
 package org.springframework.cloud.config.server.encryption;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.environment.PropertyValueDescriptor;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.cloud.context.encrypt.EncryptorFactory;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 
@@ -168,4 +174,95 @@ public class CipherEnvironmentEncryptorTests {
 			.isEqualTo(encryptedSecret);
 	}
 
+	@Test
+	public void cachedValuesAreDecryptedOnce() {
+		TextEncryptor textEncryptor = new EncryptorFactory("deadbeef").create("foo");
+		AtomicInteger decryptions = new AtomicInteger();
+		CipherEnvironmentEncryptor encryptor = new CipherEnvironmentEncryptor(keys -> new TextEncryptor() {
+
+			@Override
+			public String encrypt(String text) {
+				return textEncryptor.encrypt(text);
+			}
+
+			@Override
+			public String decrypt(String encryptedText) {
+				decryptions.incrementAndGet();
+				return textEncryptor.decrypt(encryptedText);
+			}
+
+		});
+		DecryptedValueCache cache = new DecryptedValueCache(10, Duration.ofMinutes(1));
+		encryptor.setCache(cache);
+		Environment environment = new Environment("name", "profile", "label");
+		environment.add(new PropertySource("a",
+				Collections.<Object, Object>singletonMap("secret", "{cipher}" + textEncryptor.encrypt("value"))));
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(encryptor.decrypt(environment).getPropertySources().get(0).getSource().get("secret"))
+				.isEqualTo("value");
+		}
+		assertThat(decryptions).hasValue(1);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void cacheEvictsLeastRecentlyUsedAndExpiredValues() {
+		Map<String, String> keys = Map.of("name", "app", "profiles", "default");
+		DecryptedValueCache cache = new DecryptedValueCache(2, Duration.ofMinutes(1));
+		cache.put(keys, "one", "1");
+		cache.put(keys, "two", "2");
+		assertThat(cache.get(keys, "one")).isEqualTo("1");
+		cache.put(keys, "three", "3");
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get(keys, "two")).isNull();
+		assertThat(cache.get(Map.of("name", "other", "profiles", "default"), "one")).isNull();
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+		DecryptedValueCache expiring = new DecryptedValueCache(2, Duration.ZERO);
+		expiring.put(keys, "one", "1");
+		assertThat(expiring.get(keys, "one")).isNull();
+		assertThat(expiring.size()).isZero();
+	}
+
+	@Test
+	public void concurrentDecryptionKeepsOrderAndSharesPlainSources() {
+		TextEncryptor textEncryptor = new EncryptorFactory("deadbeef").create("foo");
+		CipherEnvironmentEncryptor encryptor = new CipherEnvironmentEncryptor(keys -> textEncryptor);
+		ConcurrentTaskRunner taskRunner = new ConcurrentTaskRunner("test-", 4);
+		encryptor.setTaskRunner(taskRunner);
+		Environment environment = new Environment("name", "profile", "label");
+		Map<Object, Object> plain = Collections.singletonMap("plain", "value");
+		environment.add(new PropertySource("plain", plain));
+		Map<Object, Object> secrets = new LinkedHashMap<>();
+		for (int i = 0; i < 20; i++) {
+			secrets.put("secret" + i, "{cipher}" + textEncryptor.encrypt("value" + i));
+			secrets.put("other" + i, "other" + i);
+		}
+		secrets.put("broken", "{cipher}broken");
+		environment.add(new PropertySource("secrets", secrets));
+
+		Environment result;
+		try {
+			result = encryptor.decrypt(environment);
+		}
+		finally {
+			taskRunner.destroy();
+		}
+
+		assertThat(result.getPropertySources().get(0).getSource()).isSameAs(plain);
+		Map<?, ?> decrypted = result.getPropertySources().get(1).getSource();
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			expected.add("secret" + i);
+			expected.add("other" + i);
+			assertThat(decrypted.get("secret" + i)).isEqualTo("value" + i);
+		}
+		expected.add("invalid.broken");
+		assertThat(decrypted.keySet()).containsExactlyElementsOf(expected);
+		assertThat(environment.getPropertySources().get(1).getSource()).isSameAs(secrets);
+	}
+
 }
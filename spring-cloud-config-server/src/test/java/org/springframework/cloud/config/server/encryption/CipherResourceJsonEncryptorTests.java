@@ -19,6 +19,7 @@ package org.springframework.cloud.config.server.encryption;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -61,4 +62,35 @@ public class CipherResourceJsonEncryptorTests {
 		assertThat(decryptedResource.contains("{cipher}")).isFalse();
 	}
 
+	@Test
+	public void whenDecryptResource_thenEachValueIsDecryptedOnceInPlace() throws Exception {
+		// given
+		Environment environment = new Environment("name", "profile", "label");
+		AtomicInteger decryptions = new AtomicInteger();
+		CipherResourceJsonEncryptor encryptor = new CipherResourceJsonEncryptor(keys -> new TextEncryptor() {
+
+			@Override
+			public String encrypt(String text) {
+				return CipherResourceJsonEncryptorTests.this.textEncryptor.encrypt(text);
+			}
+
+			@Override
+			public String decrypt(String encryptedText) {
+				decryptions.incrementAndGet();
+				return CipherResourceJsonEncryptorTests.this.textEncryptor.decrypt(encryptedText);
+			}
+
+		});
+		String one = "{cipher}" + this.textEncryptor.encrypt("one");
+		String two = "{cipher}" + this.textEncryptor.encrypt("two");
+		String text = "{\"a\": \"" + one + "\", \"b\": [\"" + two + "\", \"" + one + "\"], \"c\": \"plain\"}";
+
+		// when
+		String decryptedResource = encryptor.decrypt(text, environment);
+
+		// then
+		assertThat(decryptedResource).isEqualTo("{\"a\": \"one\", \"b\": [\"two\", \"one\"], \"c\": \"plain\"}");
+		assertThat(decryptions).hasValue(2);
+	}
+
 }
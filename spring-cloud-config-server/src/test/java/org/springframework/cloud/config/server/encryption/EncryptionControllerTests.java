@@ -16,12 +16,16 @@
 
 package org.springframework.cloud.config.server.encryption;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import tools.jackson.databind.json.JsonMapper;
 
 import org.springframework.cloud.config.server.environment.InvalidEnvironmentRequestException;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.encrypt.Encryptors;
 import org.springframework.security.crypto.encrypt.RsaSecretEncryptor;
@@ -208,4 +212,45 @@ public class EncryptionControllerTests {
 			.hasMessageContaining("Invalid request");
 	}
 
+	@Test
+	public void batchRoundTripLocatesOneEncryptorPerContext() {
+		RsaSecretEncryptor encryptor = new RsaSecretEncryptor();
+		AtomicInteger locates = new AtomicInteger();
+		this.controller = new EncryptionController(keys -> {
+			locates.incrementAndGet();
+			return encryptor;
+		});
+		ConcurrentTaskRunner taskRunner = new ConcurrentTaskRunner("test-", 3);
+		this.controller.setTaskRunner(taskRunner);
+		try {
+			Map<?, ?> encrypted = (Map<?, ?>) this.controller.encryptBatch("{\"one\":\"foo\",\"two\":\"bar\","
+					+ "\"three\":{\"value\":\"baz\",\"name\":\"app\",\"profiles\":\"prod\"}}");
+			assertThat(encrypted.keySet()).containsExactly("one", "two", "three");
+			assertThat(locates).hasValue(2);
+
+			locates.set(0);
+			List<?> decrypted = (List<?>) this.controller.decryptBatch(
+					new JsonMapper().writeValueAsString(List.of(encrypted.get("one"), encrypted.get("two"))));
+			assertThat(decrypted).containsExactly("foo", "bar");
+			assertThat(locates).hasValue(1);
+
+			String invalid = new JsonMapper().writeValueAsString(List.of(encrypted.get("one"), "invalid"));
+			assertThatExceptionOfType(InvalidBatchException.class)
+				.isThrownBy(() -> this.controller.decryptBatch(invalid))
+				.withMessage("Cannot decrypt batch item [1]");
+		}
+		finally {
+			taskRunner.destroy();
+		}
+	}
+
+	@Test
+	public void invalidBatch() {
+		this.controller = new EncryptionController(new SingleTextEncryptorLocator(new RsaSecretEncryptor()));
+		assertThatExceptionOfType(InvalidBatchException.class)
+			.isThrownBy(() -> this.controller.encryptBatch("\"foo\""));
+		assertThatExceptionOfType(InvalidBatchException.class)
+			.isThrownBy(() -> this.controller.encryptBatch("[{\"name\":\"foo\"}]"));
+	}
+
 }
@@ -16,9 +16,14 @@
 
 package org.springframework.cloud.config.server.encryption;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,4 +80,36 @@ public class KeyStoreTextEncryptorLocatorTests {
 		assertThat(encryptor1).isEqualTo(encryptor2);
 	}
 
+	@Test
+	public void testNonDefaultEncryptorIsCachedPerAliasAndSecret() {
+		AtomicInteger lookups = new AtomicInteger();
+		this.locator.setSecretLocator(secret -> {
+			lookups.incrementAndGet();
+			return "letmein".toCharArray();
+		});
+		TextEncryptor encryptor1 = this.locator.locate(Collections.singletonMap("key", "mykey"));
+		TextEncryptor encryptor2 = this.locator.locate(Collections.singletonMap("key", "mykey"));
+		assertThat(encryptor1).isSameAs(encryptor2);
+		assertThat(lookups).hasValue(2);
+
+		this.locator.setCacheTtl(Duration.ofNanos(1));
+		assertThat(this.locator.locate(Collections.singletonMap("key", "mykey"))).isNotSameAs(encryptor1);
+	}
+
+	@Test
+	public void testDefaultEncryptorIsCreatedOnceConcurrently() {
+		AtomicInteger lookups = new AtomicInteger();
+		this.locator.setSecretLocator(secret -> {
+			lookups.incrementAndGet();
+			return secret.toCharArray();
+		});
+		List<CompletableFuture<TextEncryptor>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			futures.add(CompletableFuture.supplyAsync(() -> this.locator.locate(Collections.emptyMap())));
+		}
+		TextEncryptor encryptor = futures.get(0).join();
+		assertThat(futures).allSatisfy(future -> assertThat(future.join()).isSameAs(encryptor));
+		assertThat(lookups).hasValue(1);
+	}
+
 }
@@ -18,17 +18,21 @@ package org.springframework.cloud.config.server.encryption.vault;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.support.ConcurrentTaskRunner;
 import org.springframework.vault.core.VaultKeyValueOperations;
 import org.springframework.vault.support.VaultResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -218,4 +222,49 @@ public class VaultEnvironmentEncryptorTests {
 		return response;
 	}
 
+	@Test
+	public void shouldReadEachPathOnce() {
+		// given
+		VaultKeyValueOperations keyValueTemplate = mock(VaultKeyValueOperations.class);
+		when(keyValueTemplate.get("accounts/mypay")).thenReturn(withVaultResponse("access_key", "one"));
+		when(keyValueTemplate.get("accounts/other")).thenReturn(withVaultResponse("access_key", "two"));
+		when(keyValueTemplate.get("accounts/broken")).thenThrow(new IllegalStateException("Forbidden"));
+
+		VaultEnvironmentEncryptor encryptor = new VaultEnvironmentEncryptor(keyValueTemplate);
+		ConcurrentTaskRunner taskRunner = new ConcurrentTaskRunner("test-", 2);
+		encryptor.setTaskRunner(taskRunner);
+
+		// when
+		Environment environment = new Environment("name", "profile", "label");
+		Map<Object, Object> first = new LinkedHashMap<>();
+		first.put("a", "{vault}:accounts/mypay#access_key");
+		first.put("b", "{vault}:accounts/other#access_key");
+		first.put("c", "{vault}:accounts/broken#access_key");
+		environment.add(new PropertySource("first", first));
+		Map<Object, Object> second = new LinkedHashMap<>();
+		second.put("a", "{vault}:accounts/mypay#access_key");
+		second.put("c", "{vault}:accounts/broken#access_key");
+		environment.add(new PropertySource("second", second));
+		Map<Object, Object> plain = Collections.singletonMap("a", "plain");
+		environment.add(new PropertySource("plain", plain));
+
+		// then
+		Environment processedEnvironment;
+		try {
+			processedEnvironment = encryptor.decrypt(environment);
+		}
+		finally {
+			taskRunner.destroy();
+		}
+
+		assertThat(processedEnvironment.getPropertySources().get(0).getSource()).containsEntry("a", "one")
+			.containsEntry("b", "two")
+			.containsEntry("invalid.c", "<n/a>");
+		assertThat(processedEnvironment.getPropertySources().get(1).getSource()).containsEntry("a", "one")
+			.containsEntry("invalid.c", "<n/a>");
+		assertThat(processedEnvironment.getPropertySources().get(2).getSource()).isSameAs(plain);
+		verify(keyValueTemplate, times(1)).get("accounts/mypay");
+		verify(keyValueTemplate, times(1)).get("accounts/broken");
+	}
+
 }
@@ -17,6 +17,7 @@
 package org.springframework.cloud.config.server.environment;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -43,8 +44,11 @@ import org.springframework.cloud.config.server.config.ConfigServerProperties;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.cloud.config.server.environment.AwsParameterStoreEnvironmentProperties.DEFAULT_PATH_SEPARATOR;
 import static wiremock.org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
@@ -107,6 +111,81 @@ public class AWSParameterStoreEnvironmentRepositoryUnitTest {
 		assertThat(result).usingRecursiveComparison().withStrictTypeChecking().isEqualTo(expected);
 	}
 
+	@Test
+	public void testFindOneWithConcurrentPaths() {
+		// Arrange
+		environmentProperties.setConcurrency(4);
+		AwsParameterStoreEnvironmentRepository concurrentRepository = new AwsParameterStoreEnvironmentRepository(
+				ssmClient, configServerProperties, environmentProperties);
+
+		Environment expected = new Environment("foo", new String[] { "bar" }, null, null, null);
+		expected.addAll(Arrays.asList(new PropertySource("aws:ssm:parameter:/config/foo-bar/", SHARED_PROPERTIES),
+				new PropertySource("aws:ssm:parameter:/config/application-default/", SHARED_DEFAULT_PROPERTIES),
+				new PropertySource("aws:ssm:parameter:/config/application/", SHARED_PROPERTIES)));
+
+		setupAwsSsmClientMocks(expected, false, false);
+
+		// Act
+		Environment result = concurrentRepository.findOne("foo", "bar", null);
+
+		// Assert
+		assertThat(result).usingRecursiveComparison().withStrictTypeChecking().isEqualTo(expected);
+	}
+
+	@Test
+	public void testFindOneWithCachedPaths() {
+		// Arrange
+		environmentProperties.setCacheTtl(Duration.ofMinutes(1));
+		AwsParameterStoreEnvironmentRepository cachingRepository = new AwsParameterStoreEnvironmentRepository(
+				ssmClient, configServerProperties, environmentProperties);
+		Environment expected = sharedEnvironment();
+
+		setupAwsSsmClientMocks(expected, false, false);
+
+		// Act
+		cachingRepository.findOne(expected.getName(), null, null);
+		Environment result = cachingRepository.findOne(expected.getName(), null, null);
+
+		// Assert
+		assertThat(result).usingRecursiveComparison().withStrictTypeChecking().isEqualTo(expected);
+		verify(ssmClient, times(2)).getParametersByPath(any(GetParametersByPathRequest.class));
+	}
+
+	@Test
+	public void testFindOneWithStaleCachedPaths() {
+		// Arrange
+		environmentProperties.setCacheTtl(Duration.ofNanos(1));
+		environmentProperties.setCacheStaleWhileRevalidate(Duration.ofMinutes(1));
+		AwsParameterStoreEnvironmentRepository cachingRepository = new AwsParameterStoreEnvironmentRepository(
+				ssmClient, configServerProperties, environmentProperties);
+		List<Runnable> refreshes = new ArrayList<>();
+		cachingRepository.setRefreshExecutor(refreshes::add);
+		Environment expected = sharedEnvironment();
+
+		setupAwsSsmClientMocks(expected, false, false);
+
+		// Act
+		cachingRepository.findOne(expected.getName(), null, null);
+		Environment result = cachingRepository.findOne(expected.getName(), null, null);
+
+		// Assert
+		assertThat(result).usingRecursiveComparison().withStrictTypeChecking().isEqualTo(expected);
+		assertThat(refreshes.size()).isEqualTo(2);
+		verify(ssmClient, times(2)).getParametersByPath(any(GetParametersByPathRequest.class));
+		refreshes.forEach(Runnable::run);
+		verify(ssmClient, times(4)).getParametersByPath(any(GetParametersByPathRequest.class));
+	}
+
+	private Environment sharedEnvironment() {
+		String application = configServerProperties.getDefaultApplicationName();
+		String[] profiles = StringUtils.commaDelimitedListToStringArray(configServerProperties.getDefaultProfile());
+		Environment environment = new Environment(application, profiles, null, null, null);
+		environment.addAll(Arrays.asList(
+				new PropertySource("aws:ssm:parameter:/config/application-default/", SHARED_DEFAULT_PROPERTIES),
+				new PropertySource("aws:ssm:parameter:/config/application/", SHARED_PROPERTIES)));
+		return environment;
+	}
+
 	private void setupAwsSsmClientMocks(Environment environment, boolean withSlashesForPropertyName,
 			boolean paginatedResponse) {
 		for (PropertySource ps : environment.getPropertySources()) {
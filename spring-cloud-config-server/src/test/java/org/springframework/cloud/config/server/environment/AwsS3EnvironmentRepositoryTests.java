@@ -19,6 +19,7 @@ package org.springframework.cloud.config.server.environment;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +54,7 @@ import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.config.ConfigServerProperties;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testcontainers.containers.localstack.LocalStackContainer.Service.S3;
@@ -1042,6 +1044,156 @@ public class AwsS3EnvironmentRepositoryTests {
 		assertThat(negatedPresent).isFalse();
 	}
 
+	@Test
+	public void indexedRepositoryReadsOnlyIndexedObjects() {
+		putFiles("foo.properties", "a=1\n");
+		putFiles("foo-bar.yml", "b: 2\n");
+		AwsS3EnvironmentProperties properties = indexedProperties(Duration.ofHours(1));
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+
+		Environment env = repo.findOne("foo", "bar", null);
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:foo-bar", "s3:foo");
+		assertThat(env.getPropertySources().get(0).getSource()).containsEntry("b", 2);
+		assertThat(env.getPropertySources().get(1).getSource()).containsEntry("a", "1");
+
+		putFiles("foo-baz.properties", "c=3\n");
+		assertThat(repo.findOne("foo", "baz", null).getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:foo");
+	}
+
+	@Test
+	public void indexedRepositoryPicksUpNewObjectsWhenRefreshed() {
+		putFiles("foo.properties", "a=1\n");
+		AwsS3EnvironmentProperties properties = indexedProperties(Duration.ZERO);
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+		assertThat(repo.findOne("foo", "baz", null).getPropertySources()).hasSize(1);
+
+		putFiles("foo-baz.properties", "c=3\n");
+		assertThat(repo.findOne("foo", "baz", null).getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:foo-baz", "s3:foo");
+	}
+
+	@Test
+	public void indexedRepositoryResolvesSearchPaths() {
+		putFiles("v1/common/a.properties", "a=1\n");
+		putFiles("v1/common/b.properties", "b=2\n");
+		putFiles("v1/app.yml", yamlContent);
+		AwsS3EnvironmentProperties properties = indexedProperties(Duration.ofHours(1));
+		properties.setSearchPaths(List.of("{label}/common/*.properties", "{label}/{application}"));
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+
+		Environment env = repo.findOne("app", "", "v1");
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:bucket1/v1/common/a.properties", "s3:bucket1/v1/common/b.properties",
+					"s3:bucket1/v1/app.yml");
+	}
+
+	@Test
+	public void indexedRepositoryReadsKeysOutsideOfIndexPrefixDirectly() {
+		putFiles("v1/common/a.properties", "a=1\n");
+		putFiles("v1/app.yml", yamlContent);
+		AwsS3EnvironmentProperties properties = indexedProperties(Duration.ofHours(1));
+		properties.setIndexPrefix("v1/common/");
+		properties.setSearchPaths(List.of("{label}/common/*.properties", "{label}/{application}"));
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+
+		assertThat(repo.findOne("app", "", "v1").getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:bucket1/v1/common/a.properties", "s3:bucket1/v1/app.yml");
+
+		putFiles("v1/common/b.properties", "b=2\n");
+		assertThat(repo.findOne("app", "", "v1").getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("s3:bucket1/v1/common/a.properties", "s3:bucket1/v1/app.yml");
+	}
+
+	@Test
+	public void cachedObjectIsNotParsedAgainUntilModified() throws IOException {
+		putFiles("foo.yml", "a: 1\n---\nspring.config.activate.on-profile: bar\nb: 2\n");
+		AwsS3ObjectReader reader = new AwsS3ObjectReader(s3Client, "bucket1", null, 1024);
+
+		AwsS3ObjectReader.ParsedObject first = reader.read("foo.yml", AwsS3ObjectReader.Format.YAML);
+		assertThat(first.documents()).hasSize(2);
+		assertThat(reader.read("foo.yml", AwsS3ObjectReader.Format.YAML)).isSameAs(first);
+
+		String versionId = putFiles("foo.yml", "a: 3\n");
+		AwsS3ObjectReader.ParsedObject modified = reader.read("foo.yml", AwsS3ObjectReader.Format.YAML);
+		assertThat(modified).isNotSameAs(first);
+		assertThat(modified.versionId()).isEqualTo(versionId);
+		assertThat(modified.documents()).hasSize(1);
+		assertThat(modified.documents().get(0)).containsEntry("a", 3);
+	}
+
+	@Test
+	public void cachedObjectMatchingIndexIsNotRequestedAgain() throws IOException {
+		putFiles("foo.properties", "a=1\n");
+		AwsS3ObjectReader reader = new AwsS3ObjectReader(s3Client, "bucket1",
+				new AwsS3KeyIndex(s3Client, "bucket1", null, Duration.ofHours(1)), 1024);
+
+		AwsS3ObjectReader.ParsedObject first = reader.read("foo.properties", AwsS3ObjectReader.Format.PROPERTIES);
+		putFiles("foo.properties", "a=2\n");
+
+		// the index still holds the ETag of the cached object, so S3 is not asked again
+		assertThat(reader.read("foo.properties", AwsS3ObjectReader.Format.PROPERTIES)).isSameAs(first);
+	}
+
+	@Test
+	public void objectsLargerThanCacheAreNotCached() throws IOException {
+		putFiles("foo.properties", "a=1\nb=2\n");
+		AwsS3ObjectReader reader = new AwsS3ObjectReader(s3Client, "bucket1", null, 4);
+
+		AwsS3ObjectReader.ParsedObject first = reader.read("foo.properties", AwsS3ObjectReader.Format.PROPERTIES);
+		assertThat(reader.read("foo.properties", AwsS3ObjectReader.Format.PROPERTIES)).isNotSameAs(first);
+	}
+
+	@Test
+	public void cachedDocumentsAreMatchedForEachProfile() {
+		putFiles("foo.yml", "a: 1\n---\nspring.config.activate.on-profile: bar\nb: 2\n");
+		AwsS3EnvironmentProperties properties = new AwsS3EnvironmentProperties();
+		properties.setBucket("bucket1");
+		properties.setCacheMaxSize(DataSize.ofKilobytes(64));
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+
+		for (int i = 0; i < 2; i++) {
+			Environment env = repo.findOne("foo", "bar", null);
+			assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+				.containsExactly("s3:foo-bar", "s3:foo");
+			assertThat(env.getPropertySources().get(0).getSource()).containsEntry("b", 2).doesNotContainKey("a");
+			assertThat(env.getPropertySources().get(1).getSource()).containsEntry("a", 1).doesNotContainKey("b");
+		}
+		Environment env = repo.findOne("foo", "baz", null);
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName).containsExactly("s3:foo");
+		assertThat(env.getPropertySources().get(0).getSource()).containsEntry("a", 1).doesNotContainKey("b");
+	}
+
+	@Test
+	public void concurrentFetchingKeepsPropertySourceOrder() {
+		putFiles("foo.properties", "a=1\n");
+		putFiles("foo-bar.yml", "b: 2\n");
+		putFiles("foo-baz.json", "{\"c\": 3}");
+		putFiles("application.yml", "d: 4\n---\nspring.config.activate.on-profile: bar\ne: 5\n");
+		putFiles("application-baz.properties", "f=6\n");
+		AwsS3EnvironmentProperties properties = new AwsS3EnvironmentProperties();
+		properties.setBucket("bucket1");
+		properties.setConcurrency(4);
+		AwsS3EnvironmentRepository repo = new AwsS3EnvironmentRepository(s3Client, properties, server);
+
+		Environment env = repo.findOne("foo", "bar,baz", null);
+		Environment expected = envRepo.findOne("foo", "bar,baz", null);
+		assertThat(env.getPropertySources()).hasSize(6);
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactlyElementsOf(expected.getPropertySources().stream().map(PropertySource::getName).toList());
+		assertThat(env.getPropertySources()).extracting(PropertySource::getSource)
+			.containsExactlyElementsOf(expected.getPropertySources().stream().map(PropertySource::getSource).toList());
+	}
+
+	private AwsS3EnvironmentProperties indexedProperties(Duration refreshInterval) {
+		AwsS3EnvironmentProperties properties = new AwsS3EnvironmentProperties();
+		properties.setBucket("bucket1");
+		properties.setIndexEnabled(true);
+		properties.setIndexRefreshInterval(refreshInterval);
+		return properties;
+	}
+
 	private String putFiles(String fileName, String propertyContent) {
 		toBeRemoved.add(fileName);
 		return s3Client
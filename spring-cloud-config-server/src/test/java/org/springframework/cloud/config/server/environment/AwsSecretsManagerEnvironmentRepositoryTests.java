@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,10 +38,14 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
 import software.amazon.awssdk.services.secretsmanager.model.CreateSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.CreateSecretResponse;
 import software.amazon.awssdk.services.secretsmanager.model.DeleteSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.RestoreSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretVersionStageRequest;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.SerializationFeature;
@@ -53,6 +58,10 @@ import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.testcontainers.containers.localstack.LocalStackContainer.Service.SECRETSMANAGER;
 import static wiremock.org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 
@@ -2827,6 +2836,84 @@ public class AwsSecretsManagerEnvironmentRepositoryTests {
 		assertThat(repository).isNotNull();
 	}
 
+	@Test
+	public void testFindOneWithBatchRetrievalWhenIgnoreLabelIsSet() {
+		AwsSecretsManagerEnvironmentProperties batchEnvironmentProperties = new AwsSecretsManagerEnvironmentProperties();
+		batchEnvironmentProperties.setIgnoreLabel(true);
+		batchEnvironmentProperties.setBatch(true);
+		AwsSecretsManagerEnvironmentRepository batchRepository = new AwsSecretsManagerEnvironmentRepository(smClient,
+				configServerProperties, batchEnvironmentProperties);
+		String application = "foo";
+		String profile = "prod";
+		String[] profiles = StringUtils.commaDelimitedListToStringArray(profile);
+
+		PropertySource fooDefaultProperties = new PropertySource("aws:secrets:/secret/foo-default/",
+				getFooDefaultProperties());
+		PropertySource fooProperties = new PropertySource("aws:secrets:/secret/foo/", getFooProperties());
+		PropertySource applicationProperties = new PropertySource("aws:secrets:/secret/application/",
+				getApplicationProperties());
+
+		Environment expectedEnv = new Environment(application, profiles, null, null, null);
+		expectedEnv.addAll(Arrays.asList(fooDefaultProperties, fooProperties, applicationProperties));
+
+		putSecrets(expectedEnv);
+
+		Environment resultEnv = batchRepository.findOne(application, profile, "release");
+
+		assertThat(resultEnv).usingRecursiveComparison().withStrictTypeChecking().isEqualTo(expectedEnv);
+	}
+
+	@Test
+	public void testFindOneWithBatchRetrievalFailsOnErrorsOtherThanMissingSecrets() {
+		AwsSecretsManagerEnvironmentProperties batchEnvironmentProperties = new AwsSecretsManagerEnvironmentProperties();
+		batchEnvironmentProperties.setBatch(true);
+		SecretsManagerClient client = mock(SecretsManagerClient.class);
+		AwsSecretsManagerEnvironmentRepository batchRepository = new AwsSecretsManagerEnvironmentRepository(client,
+				configServerProperties, batchEnvironmentProperties);
+
+		when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class)))
+			.thenReturn(BatchGetSecretValueResponse.builder()
+				.errors(APIErrorType.builder()
+					.secretId("/secret/foo/")
+					.errorCode("ResourceNotFoundException")
+					.build())
+				.build());
+		assertThat(batchRepository.findOne("foo", null, null).getPropertySources()).isEmpty();
+
+		when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class)))
+			.thenReturn(BatchGetSecretValueResponse.builder()
+				.errors(APIErrorType.builder()
+					.secretId("/secret/foo/")
+					.errorCode("AccessDeniedException")
+					.message("denied")
+					.build())
+				.build());
+		assertThatThrownBy(() -> batchRepository.findOne("foo", null, null))
+			.isInstanceOf(SecretsManagerException.class)
+			.hasMessageContaining("AccessDeniedException");
+	}
+
+	@Test
+	public void testFindOneSkipsRecentlyMissingSecrets() {
+		AwsSecretsManagerEnvironmentProperties cachingEnvironmentProperties = new AwsSecretsManagerEnvironmentProperties();
+		cachingEnvironmentProperties.setIgnoreLabel(true);
+		cachingEnvironmentProperties.setMissingSecretCacheTtl(Duration.ofMinutes(1));
+		AwsSecretsManagerEnvironmentRepository cachingRepository = new AwsSecretsManagerEnvironmentRepository(
+				smClient, configServerProperties, cachingEnvironmentProperties);
+
+		Environment expectedEnv = new Environment("foo", new String[] { "default" }, null, null, null);
+		expectedEnv.add(new PropertySource("aws:secrets:/secret/foo/", getFooProperties()));
+
+		assertThat(cachingRepository.findOne("foo", null, null).getPropertySources()).isEmpty();
+
+		putSecrets(expectedEnv);
+
+		assertThat(cachingRepository.findOne("foo", null, null).getPropertySources()).isEmpty();
+		assertThat(ignoreLabelRepository.findOne("foo", null, null)).usingRecursiveComparison()
+			.withStrictTypeChecking()
+			.isEqualTo(expectedEnv);
+	}
+
 	private void putSecrets(Environment environment) {
 		String label = environment.getLabel() != null ? environment.getLabel()
 				: environmentProperties.getDefaultLabel();
@@ -303,6 +303,33 @@ public class HttpClientConfigurableHttpConnectionFactoryTest {
 		assertThat(actualHttpClientBuilder).isSameAs(expectedHttpClientBuilder);
 	}
 
+	@Test
+	public void httpClientIsReusedAcrossConnections() throws Exception {
+		String url = "http://localhost/test.git";
+		MultipleJGitEnvironmentProperties properties = new MultipleJGitEnvironmentProperties();
+		properties.setUri(url);
+		this.connectionFactory.addConfiguration(properties);
+
+		HttpClient first = getActualHttpClient(this.connectionFactory.create(new URL(url + "/info/refs")));
+		HttpClient second = getActualHttpClient(this.connectionFactory.create(new URL(url + "/git-upload-pack")));
+
+		assertThat(first).isNotNull().isSameAs(second);
+		this.connectionFactory.destroy();
+	}
+
+	@Test
+	public void compiledPatternMatchesPlaceholderSegments() {
+		assertThat(HttpClientConfigurableHttpConnectionFactory.compile("http://localhost/{application}-test.git")
+			.matcher("http://localhost/foo-test.git/info/refs")
+			.matches()).isTrue();
+		assertThat(HttpClientConfigurableHttpConnectionFactory.compile("http://localhost/{application}-test.git")
+			.matcher("http://localhost/foo-test.gitx")
+			.matches()).isFalse();
+		assertThat(HttpClientConfigurableHttpConnectionFactory.compile("http://localhost/test.git")
+			.matcher("http://localhostXtest.git")
+			.matches()).isFalse();
+	}
+
 	private HttpClient getActualHttpClient(HttpConnection actualConnection) {
 		Field clientField = ReflectionUtils.findField(actualConnection.getClass(), "client");
 		ReflectionUtils.makeAccessible(clientField);
@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
@@ -62,6 +64,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author Dave Syer
@@ -181,6 +184,27 @@ public class JGitEnvironmentRepositoryConcurrencyTests {
 		assertThat(errorCount.get()).isEqualTo(0);
 	}
 
+	@Test
+	public void labelIsNotCheckedOutWhileLocationsAreInUse() throws Exception {
+		String uri = ConfigServerTestUtils.prepareLocalRepo();
+		this.context = new SpringApplicationBuilder(TestConfiguration.class).web(WebApplicationType.NONE)
+			.properties("spring.cloud.config.server.git.uri:" + uri)
+			.run();
+		JGitEnvironmentRepository repository = this.context.getBean(JGitEnvironmentRepository.class);
+		ExecutorService threads = Executors.newSingleThreadExecutor();
+		try {
+			Future<Environment> other = repository.withLocations("bar", "staging", "master", locations -> {
+				Future<Environment> future = threads.submit(() -> repository.findOne("bar", "staging", "raw"));
+				assertThatThrownBy(() -> future.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+				return future;
+			});
+			assertThat(other.get().getLabel()).isEqualTo("raw");
+		}
+		finally {
+			threads.shutdownNow();
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	@EnableConfigurationProperties(ConfigServerProperties.class)
 	@Import({ PropertyPlaceholderAutoConfiguration.class, EnvironmentRepositoryConfiguration.class })
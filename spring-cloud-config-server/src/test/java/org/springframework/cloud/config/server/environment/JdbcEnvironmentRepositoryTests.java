@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.time.Duration;
+
 import javax.sql.DataSource;
 
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,7 @@ import org.springframework.boot.jdbc.autoconfigure.DataSourceInitializationAutoC
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.environment.JdbcEnvironmentRepositoryTests.ApplicationConfiguration;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.DataAccessException;
@@ -245,6 +248,158 @@ public class JdbcEnvironmentRepositoryTests {
 		assertThat(env.getPropertySources().get(2).getSource().get("e.f.g")).isEqualTo("application-default");
 	}
 
+	@Test
+	public void bulkProperties() {
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.setBulk(true);
+		Environment env = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource), properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor())
+			.findOne("foo", "bar", "");
+		assertThat(env.getName()).isEqualTo("foo");
+		assertThat(env.getProfiles()).isEqualTo(new String[] { "bar" });
+		assertThat(env.getLabel()).isEqualTo("master");
+		assertThat(env.getPropertySources()).hasSize(4);
+		assertThat(env.getPropertySources().get(0).getName()).isEqualTo("foo-bar");
+		assertThat(env.getPropertySources().get(0).getSource().get("a.b.c")).isEqualTo("foo-bar");
+		assertThat(env.getPropertySources().get(1).getName()).isEqualTo("application-bar");
+		assertThat(env.getPropertySources().get(1).getSource().get("a.b.c")).isEqualTo("application-bar");
+		assertThat(env.getPropertySources().get(2).getName()).isEqualTo("foo");
+		assertThat(env.getPropertySources().get(2).getSource().get("a.b.c")).isEqualTo("foo-null");
+		assertThat(env.getPropertySources().get(3).getName()).isEqualTo("application");
+		assertThat(env.getPropertySources().get(3).getSource().get("a.b.c")).isEqualTo("application-null");
+	}
+
+	@Test
+	public void bulkMultipleLabels() {
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.setBulk(true);
+		JdbcEnvironmentRepository repository = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource),
+				properties, new JdbcEnvironmentRepository.PropertiesResultSetExtractor());
+		properties.setBulk(false);
+		Environment expected = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource), properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor())
+			.findOne("foo", "bar,default", "main,master");
+		Environment env = repository.findOne("foo", "bar,default", "main,master");
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactlyElementsOf(
+					expected.getPropertySources().stream().map(PropertySource::getName).toList());
+		assertThat(env.getPropertySources()).extracting(PropertySource::getSource)
+			.containsExactlyElementsOf(
+					expected.getPropertySources().stream().map(PropertySource::getSource).toList());
+	}
+
+	@Test
+	public void bulkFailOnError() {
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.setBulk(true);
+		properties.setBulkSql("SELECT SHOULD_FAIL from TABLE_NOTEXIST where APPLICATION in (:applications)");
+		JdbcEnvironmentRepository repository = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource),
+				properties, new JdbcEnvironmentRepository.PropertiesResultSetExtractor());
+		assertThatThrownBy(() -> repository.findOne("foo", "bar", "")).isInstanceOf(DataAccessException.class);
+		properties.setFailOnError(false);
+		Environment env = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource), properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor())
+			.findOne("foo", "bar", "");
+		assertThat(env.getPropertySources()).isEmpty();
+	}
+
+	@Test
+	public void indexedProperties() {
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.getIndex().setEnabled(true);
+		properties.getIndex().setRefreshInterval(Duration.ofDays(1));
+		JdbcEnvironmentRepository repository = new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource),
+				properties, new JdbcEnvironmentRepository.PropertiesResultSetExtractor());
+		Environment env = repository.findOne("foo", "bar", "");
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("foo-bar", "application-bar", "foo", "application");
+		assertThat(env.getPropertySources()).extracting(source -> source.getSource().get("a.b.c"))
+			.containsExactly("foo-bar", "application-bar", "foo-null", "application-null");
+		env = repository.findOne("application", "default", "main,master");
+		assertThat(env.getPropertySources().get(0).getSource().get("a.b.c")).isEqualTo("application-default");
+		assertThat(env.getPropertySources().get(1).getSource().get("a.b.c")).isEqualTo("application-null");
+		assertThat(env.getPropertySources().get(2).getSource().get("e.f.g")).isEqualTo("application-default");
+	}
+
+	@Test
+	public void indexIsReloadedIncrementally() {
+		JdbcTemplate jdbc = new JdbcTemplate(this.dataSource);
+		jdbc.execute("CREATE TABLE INDEXED_PROPERTIES (\"KEY\" VARCHAR(2048), \"VALUE\" VARCHAR(4096),"
+				+ " APPLICATION VARCHAR(128), PROFILE VARCHAR(128), LABEL VARCHAR(128), UPDATED BIGINT)");
+		jdbc.update("INSERT into INDEXED_PROPERTIES values ('a.b.c', 'one', 'foo', 'bar', 'master', 1)");
+		jdbc.update("INSERT into INDEXED_PROPERTIES values ('a.b.c', 'two', 'foo', null, 'master', 1)");
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.getIndex().setEnabled(true);
+		properties.getIndex()
+			.setSql("SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\" from INDEXED_PROPERTIES");
+		properties.getIndex()
+			.setReloadSql("SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\" from INDEXED_PROPERTIES"
+					+ " where APPLICATION in (:applications) and LABEL in (:labels)");
+		properties.getIndex()
+			.setVersionSql("SELECT APPLICATION, PROFILE, LABEL, MAX(UPDATED) from INDEXED_PROPERTIES"
+					+ " group by APPLICATION, PROFILE, LABEL");
+		properties.getIndex().setRefreshInterval(Duration.ofDays(1));
+		JdbcEnvironmentRepository repository = new JdbcEnvironmentRepository(jdbc, properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor());
+		try {
+			Environment env = repository.findOne("foo", "bar", "");
+			assertThat(env.getPropertySources()).extracting(source -> source.getSource().get("a.b.c"))
+				.containsExactly("one", "two");
+
+			// a change without a new version is not picked up
+			jdbc.update("UPDATE INDEXED_PROPERTIES set \"VALUE\"='stale' where PROFILE is null");
+			jdbc.update("UPDATE INDEXED_PROPERTIES set \"VALUE\"='three', UPDATED=2 where PROFILE='bar'");
+			env = repository.findOne("foo", "bar", "");
+			assertThat(env.getPropertySources()).extracting(source -> source.getSource().get("a.b.c"))
+				.containsExactly("one", "two");
+			repository.refreshIndex();
+			env = repository.findOne("foo", "bar", "");
+			assertThat(env.getPropertySources()).extracting(source -> source.getSource().get("a.b.c"))
+				.containsExactly("three", "two");
+
+			jdbc.update("DELETE from INDEXED_PROPERTIES where PROFILE='bar'");
+			repository.refreshIndex();
+			env = repository.findOne("foo", "bar", "");
+			assertThat(env.getPropertySources()).extracting(PropertySource::getName).containsExactly("foo");
+		}
+		finally {
+			repository.destroy();
+			jdbc.execute("DROP TABLE INDEXED_PROPERTIES");
+		}
+	}
+
+	@Test
+	public void customIndexSqlRequiresReloadSqlForIncrementalReload() {
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.getIndex().setEnabled(true);
+		properties.getIndex().setSql("SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\" from OTHER_PROPERTIES");
+		properties.getIndex()
+			.setVersionSql("SELECT APPLICATION, PROFILE, LABEL, 1 from OTHER_PROPERTIES"
+					+ " group by APPLICATION, PROFILE, LABEL");
+		assertThatThrownBy(() -> new JdbcEnvironmentRepository(new JdbcTemplate(this.dataSource), properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor()))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("index.reload-sql");
+	}
+
+	@Test
+	public void indexServesPreviousStateWhenRefreshFails() {
+		JdbcTemplate jdbc = new JdbcTemplate(this.dataSource);
+		jdbc.execute("CREATE TABLE BROKEN_PROPERTIES AS SELECT * from PROPERTIES");
+		JdbcEnvironmentProperties properties = new JdbcEnvironmentProperties();
+		properties.getIndex().setEnabled(true);
+		properties.getIndex()
+			.setSql("SELECT APPLICATION, PROFILE, LABEL, \"KEY\", \"VALUE\" from BROKEN_PROPERTIES");
+		properties.getIndex().setRefreshInterval(Duration.ofDays(1));
+		JdbcEnvironmentRepository repository = new JdbcEnvironmentRepository(jdbc, properties,
+				new JdbcEnvironmentRepository.PropertiesResultSetExtractor());
+		assertThat(repository.findOne("foo", "bar", "").getPropertySources()).hasSize(4);
+		jdbc.execute("DROP TABLE BROKEN_PROPERTIES");
+		repository.refreshIndex();
+		repository.destroy();
+		assertThat(repository.findOne("foo", "bar", "").getPropertySources()).hasSize(4);
+	}
+
 	@ImportAutoConfiguration(DataSourceInitializationAutoConfiguration.class)
 	@Configuration(proxyBeanMethods = false)
 	protected static class ApplicationConfiguration {
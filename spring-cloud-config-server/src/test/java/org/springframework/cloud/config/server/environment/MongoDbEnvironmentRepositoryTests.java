@@ -38,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.test.TestConfigServerApplication;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -171,6 +172,17 @@ public class MongoDbEnvironmentRepositoryTests {
 		assertThat(env.getPropertySources().get(1).getSource().get("a_b_c")).isEqualTo("application-bar");
 	}
 
+	@Test
+	public void multipleProfilesAreReadWithOneQuery() {
+		MongoTemplate spiedMongoTemplate = Mockito.spy(mongoTemplate);
+		Environment env = new MongoDbEnvironmentRepository(spiedMongoTemplate, new MongoDbEnvironmentProperties())
+			.findOne("foo", "default,bar", "");
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("foo-bar", "application-bar", "foo-default", "application-default", "foo",
+					"application");
+		Mockito.verify(spiedMongoTemplate, Mockito.times(1)).find(any(Query.class), any(), anyString());
+	}
+
 	@Test
 	public void testFailOnError() {
 		MongoTemplate failingMongoTemplate = Mockito.spy(mongoTemplate);
@@ -16,6 +16,11 @@
 
 package org.springframework.cloud.config.server.environment;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.GenericContainer;
@@ -25,8 +30,10 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.test.TestConfigServerApplication;
 import org.springframework.data.redis.core.BoundHashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -69,4 +76,52 @@ public class RedisEnvironmentRepositoryIntegrationTests {
 		assertThat(env.getPropertySources().get(0).getSource().get("tag")).isEqualTo("myapp");
 	}
 
+	@Test
+	public void multipleProfilesAreReadInOrder() {
+		redis.boundHashOps("foo").put("tag", "default");
+		redis.boundHashOps("foo-bar").put("tag", "bar");
+		redis.boundHashOps("foo-baz").put("tag", "baz");
+
+		Environment env = new RedisEnvironmentRepository(redis, new RedisEnvironmentProperties()).findOne("foo",
+				"bar,missing,baz", "");
+		assertThat(env.getPropertySources()).extracting(PropertySource::getName)
+			.containsExactly("redis:foo-baz", "redis:foo-missing", "redis:foo-bar", "redis:foo");
+		assertThat(env.getPropertySources()).extracting(source -> source.getSource().get("tag"))
+			.containsExactly("baz", null, "bar", "default");
+	}
+
+	@Test
+	public void cachedHashesAreInvalidatedByKeyspaceNotifications() throws Exception {
+		redis.execute((RedisCallback<Object>) connection -> {
+			connection.serverCommands().setConfig("notify-keyspace-events", "Kghx");
+			return null;
+		});
+		redis.boundHashOps("foo-bar").put("tag", "one");
+		RedisEnvironmentProperties properties = new RedisEnvironmentProperties();
+		properties.getCache().setEnabled(true);
+		properties.getCache().setKeyPattern("foo*");
+		RedisEnvironmentRepository repository = new RedisEnvironmentRepository(redis, properties);
+		List<String> invalidated = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		repository.setInvalidationListener(key -> {
+			invalidated.add(key);
+			latch.countDown();
+		});
+		repository.afterPropertiesSet();
+		try {
+			assertThat(repository.findOne("foo", "bar", "").getPropertySources().get(0).getSource().get("tag"))
+				.isEqualTo("one");
+
+			redis.boundHashOps("unrelated").put("tag", "other");
+			redis.boundHashOps("foo-bar").put("tag", "two");
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(invalidated).containsExactly("foo-bar");
+			assertThat(repository.findOne("foo", "bar", "").getPropertySources().get(0).getSource().get("tag"))
+				.isEqualTo("two");
+		}
+		finally {
+			repository.destroy();
+		}
+	}
+
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.environment;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SnapshotEnvironmentRepositoryTests {
+
+	@TempDir
+	File basedir;
+
+	private EnvironmentRepository delegate = mock(EnvironmentRepository.class);
+
+	@Test
+	public void servesSnapshotAfterRestartAndRefreshesInBackground() throws Exception {
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = store();
+		new SnapshotEnvironmentRepository(this.delegate, store, Runnable::run).findOne("foo", "bar", "master");
+		store.destroy();
+
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v2", "two"));
+		EnvironmentSnapshotStore restarted = store();
+		SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(this.delegate, restarted,
+				runnable -> {
+				});
+		Environment environment = repository.findOne("foo", "bar", "master");
+
+		assertThat(environment.getVersion()).isEqualTo("v1");
+		assertThat(environment.getPropertySources().get(0).getSource()).containsEntry("value", "one");
+		verify(this.delegate, times(1)).findOne("foo", "bar", "master", false);
+		restarted.destroy();
+	}
+
+	@Test
+	public void reconciledKeysGoToDelegate() throws Exception {
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = store();
+		new SnapshotEnvironmentRepository(this.delegate, store, Runnable::run).findOne("foo", "bar", "master");
+		store.destroy();
+
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v2", "two"));
+		EnvironmentSnapshotStore restarted = store();
+		SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(this.delegate, restarted,
+				Runnable::run);
+		assertThat(repository.findOne("foo", "bar", "master").getVersion()).isEqualTo("v1");
+		assertThat(restarted.getVersion(EnvironmentSnapshotStore.key("foo", "bar", "master"))).isEqualTo("v2");
+		assertThat(repository.findOne("foo", "bar", "master").getVersion()).isEqualTo("v2");
+		restarted.destroy();
+	}
+
+	@Test
+	public void unchangedEnvironmentIsNotAppended() throws Exception {
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = store();
+		SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(this.delegate, store,
+				Runnable::run);
+		repository.findOne("foo", "bar", "master");
+		repository.findOne("foo", "bar", "master");
+		store.destroy();
+
+		assertThat(Files.readAllLines(store.getFile(), StandardCharsets.UTF_8)).hasSize(1);
+	}
+
+	@Test
+	public void environmentWithSameVersionIsNotSerialized() throws Exception {
+		Environment environment = spy(environment("v1", "one"));
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment);
+		EnvironmentSnapshotStore store = store();
+		SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(this.delegate, store,
+				Runnable::run);
+		repository.findOne("foo", "bar", "master");
+		repository.findOne("foo", "bar", "master");
+		store.destroy();
+
+		verify(environment, times(1)).getPropertySources();
+	}
+
+	@Test
+	public void leastRecentlyUsedKeysAreEvicted() throws Exception {
+		when(this.delegate.findOne(anyString(), eq("bar"), eq("master"), eq(false)))
+			.thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = new EnvironmentSnapshotStore(this.basedir);
+		store.setMaxEntries(2);
+		store.afterPropertiesSet();
+		SnapshotEnvironmentRepository repository = new SnapshotEnvironmentRepository(this.delegate, store,
+				Runnable::run);
+		repository.findOne("one", "bar", "master");
+		repository.findOne("two", "bar", "master");
+		repository.findOne("one", "bar", "master");
+		repository.findOne("three", "bar", "master");
+
+		assertThat(store.size()).isEqualTo(2);
+		assertThat(store.isReconciled(EnvironmentSnapshotStore.key("two", "bar", "master"))).isFalse();
+		assertThat(store.get(EnvironmentSnapshotStore.key("two", "bar", "master"))).isNull();
+		assertThat(store.get(EnvironmentSnapshotStore.key("one", "bar", "master"))).isNotNull();
+
+		repository.findOne("four", "bar", "master");
+		repository.findOne("five", "bar", "master");
+		store.destroy();
+		EnvironmentSnapshotStore restarted = new EnvironmentSnapshotStore(this.basedir);
+		restarted.setMaxEntries(2);
+		restarted.afterPropertiesSet();
+		assertThat(restarted.get(EnvironmentSnapshotStore.key("four", "bar", "master"))).isNotNull();
+		assertThat(restarted.get(EnvironmentSnapshotStore.key("five", "bar", "master"))).isNotNull();
+		assertThat(Files.readAllLines(restarted.getFile(), StandardCharsets.UTF_8)).hasSize(2);
+		restarted.destroy();
+	}
+
+	@Test
+	public void truncatedRecordIsIgnored() throws Exception {
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = store();
+		new SnapshotEnvironmentRepository(this.delegate, store, Runnable::run).findOne("foo", "bar", "master");
+		store.destroy();
+		Files.writeString(store.getFile(), "{\"key\":\"foo/ba", StandardOpenOption.APPEND);
+
+		EnvironmentSnapshotStore restarted = store();
+		assertThat(restarted.size()).isEqualTo(1);
+		assertThat(Files.readAllLines(restarted.getFile(), StandardCharsets.UTF_8)).hasSize(1);
+		restarted.destroy();
+	}
+
+	@Test
+	public void logIsOnlyAccessibleToOwner() throws Exception {
+		assumeTrue(this.basedir.toPath().getFileSystem().supportedFileAttributeViews().contains("posix"));
+		when(this.delegate.findOne("foo", "bar", "master", false)).thenReturn(environment("v1", "one"));
+		EnvironmentSnapshotStore store = new EnvironmentSnapshotStore(new File(this.basedir, "snapshots"));
+		store.afterPropertiesSet();
+		new SnapshotEnvironmentRepository(this.delegate, store, Runnable::run).findOne("foo", "bar", "master");
+		store.destroy();
+
+		assertThat(Files.getPosixFilePermissions(store.getFile()))
+			.isEqualTo(PosixFilePermissions.fromString("rw-------"));
+		assertThat(Files.getPosixFilePermissions(store.getFile().getParent()))
+			.isEqualTo(PosixFilePermissions.fromString("rwx------"));
+	}
+
+	private EnvironmentSnapshotStore store() throws Exception {
+		EnvironmentSnapshotStore store = new EnvironmentSnapshotStore(this.basedir);
+		store.afterPropertiesSet();
+		return store;
+	}
+
+	private Environment environment(String version, String value) {
+		Environment environment = new Environment("foo", new String[] { "bar" }, "master", version, null);
+		environment.add(new PropertySource("one", Collections.singletonMap("value", value)));
+		return environment;
+	}
+
+}
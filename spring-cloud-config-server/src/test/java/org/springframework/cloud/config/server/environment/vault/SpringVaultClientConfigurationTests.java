@@ -325,6 +325,20 @@ class SpringVaultClientConfigurationTests {
 		return request;
 	}
 
+	@Test
+	public void statelessSessionForRequestTokens() {
+		assertThat(getConfiguration(properties).sessionManager()).isInstanceOf(StatelessSessionManager.class);
+	}
+
+	@Test
+	public void statelessSessionWhenRequested() {
+		properties.setAuthentication(TOKEN);
+		properties.setToken("token");
+		properties.getSession().setStateless(true);
+
+		assertThat(getConfiguration(properties).sessionManager()).isInstanceOf(StatelessSessionManager.class);
+	}
+
 	private void assertClientAuthenticationOfType(VaultEnvironmentProperties properties,
 			Class<? extends ClientAuthentication> type) {
 		ClientAuthentication clientAuthentication = getConfiguration(properties).clientAuthentication();
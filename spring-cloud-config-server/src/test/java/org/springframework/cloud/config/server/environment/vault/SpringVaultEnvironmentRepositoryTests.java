@@ -16,20 +16,31 @@
 
 package org.springframework.cloud.config.server.environment.vault;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.cloud.config.server.environment.EnvironmentWatch;
 import org.springframework.cloud.config.server.environment.VaultEnvironmentProperties;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.util.StringUtils;
 import org.springframework.vault.core.VaultKeyValueOperations;
 import org.springframework.vault.support.VaultResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -351,6 +362,87 @@ public class SpringVaultEnvironmentRepositoryTests {
 		assertThat(e.getPropertySources().get(1).getSource()).isEqualTo(Map.of("def-foo", "def-bar"));
 	}
 
+	@Test
+	public void findOneWithConcurrentReadsKeepsOrder() {
+		when(keyValueTemplate.get("myapp,dev")).thenReturn(withVaultResponse("dev-foo", "dev-bar"));
+		when(keyValueTemplate.get("application,dev")).thenReturn(withVaultResponse("def-dev-foo", "def-dev-bar"));
+		when(keyValueTemplate.get("myapp")).thenReturn(withVaultResponse("foo", "bar"));
+		when(keyValueTemplate.get("application")).thenReturn(withVaultResponse("def-foo", "def-bar"));
+
+		var properties = new VaultEnvironmentProperties();
+		properties.setReadConcurrency(4);
+
+		var e = springVaultEnvironmentRepository(properties).findOne("myapp", "default,dev", null);
+
+		assertThat(e.getPropertySources()).extracting("name")
+			.containsExactly("vault:myapp,dev", "vault:application,dev", "vault:myapp", "vault:application");
+		assertThat(e.getPropertySources().get(0).getSource()).isEqualTo(Map.of("dev-foo", "dev-bar"));
+		assertThat(e.getPropertySources().get(3).getSource()).isEqualTo(Map.of("def-foo", "def-bar"));
+	}
+
+	@Test
+	public void findOneWithCacheReadsKeyOnce() {
+		when(keyValueTemplate.get("myapp")).thenReturn(withVaultResponse("foo", "bar"));
+
+		var properties = new VaultEnvironmentProperties();
+		properties.setCacheTtl(Duration.ofMinutes(1));
+		var repository = springVaultEnvironmentRepository(properties);
+
+		repository.findOne("myapp", null, null);
+		var e = repository.findOne("myapp", null, null);
+
+		assertThat(e.getPropertySources().get(0).getSource()).isEqualTo(Map.of("foo", "bar"));
+		verify(keyValueTemplate, times(1)).get("myapp");
+	}
+
+	@Test
+	public void findOneWithCacheHonorsLeaseDuration() {
+		VaultResponse response = withVaultResponse("foo", "bar");
+		response.setLeaseDuration(1);
+		when(keyValueTemplate.get("myapp")).thenReturn(response);
+
+		var properties = new VaultEnvironmentProperties();
+		properties.setCacheTtl(Duration.ofMinutes(1));
+		var repository = springVaultEnvironmentRepository(properties);
+		Instant now = Instant.now();
+		repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+
+		repository.findOne("myapp", null, null);
+		repository.setClock(Clock.fixed(now.plusSeconds(2), ZoneOffset.UTC));
+		repository.findOne("myapp", null, null);
+
+		verify(keyValueTemplate, times(2)).get("myapp");
+	}
+
+	@Test
+	public void findOneFlattensNestedDataLikeYaml() {
+		Map<String, Object> nested = new LinkedHashMap<>();
+		nested.put("url", "jdbc:foo");
+		nested.put("pool", Map.of("size", 10));
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("datasource", nested);
+		data.put("hosts", List.of("a", Map.of("name", "b")));
+		data.put("empty", List.of());
+		data.put("enabled", true);
+		data.put("nothing", null);
+		VaultResponse response = new VaultResponse();
+		response.setData(data);
+		when(keyValueTemplate.get("myapp")).thenReturn(response);
+
+		var properties = new VaultEnvironmentProperties();
+		properties.setDefaultKey("");
+
+		var e = springVaultEnvironmentRepository(properties).findOne("myapp", null, null);
+
+		YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+		yaml.setResources(new ByteArrayResource(new JsonMapper().writeValueAsBytes(data)));
+		assertThat(e.getPropertySources().get(0).getSource()).isEqualTo(Map.copyOf(yaml.getObject()));
+		assertThat(e.getPropertySources().get(0).getSource()).containsEntry("datasource.pool.size", 10)
+			.containsEntry("hosts[1].name", "b")
+			.containsEntry("empty", "")
+			.containsEntry("nothing", "");
+	}
+
 	private SpringVaultEnvironmentRepository springVaultEnvironmentRepository(VaultEnvironmentProperties properties) {
 		return new SpringVaultEnvironmentRepository(mockHttpRequest(), new EnvironmentWatch.Default(), properties,
 				keyValueTemplate);
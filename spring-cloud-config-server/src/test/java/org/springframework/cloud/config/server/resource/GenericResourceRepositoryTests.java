@@ -18,6 +18,9 @@ package org.springframework.cloud.config.server.resource;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.micrometer.observation.ObservationRegistry;
 import org.assertj.core.api.Assertions;
@@ -25,6 +28,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.awssdk.services.s3.S3Client;
 
 import org.springframework.boot.WebApplicationType;
@@ -36,7 +40,10 @@ import org.springframework.cloud.config.server.environment.AwsS3EnvironmentRepos
 import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
 import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
 import org.springframework.cloud.config.server.environment.NativeEnvironmentRepositoryTests;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.cloud.config.server.environment.SearchPathLocator.Locations;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
@@ -189,4 +196,76 @@ public class GenericResourceRepositoryTests {
 		assertThat(resource.getURL()).isEqualTo(new URL("https://us-east-1/test/main%2Fdata.json"));
 	}
 
+	@Test
+	public void versionedResourceIsResolvedOnce() {
+		SearchPathLocator locator = mock(SearchPathLocator.class);
+		when(locator.getLocations("blah", "local", "master"))
+			.thenReturn(new Locations("blah", "local", "master", "v1", new String[] { "classpath:/test/local/" },
+					true))
+			.thenReturn(new Locations("blah", "local", "master", "v1", new String[] { "classpath:/test/local/" },
+					true))
+			.thenReturn(new Locations("blah", "local", "master", "v2", new String[] { "classpath:/test/local/" },
+					true));
+		AtomicInteger lookups = new AtomicInteger();
+		DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+		GenericResourceRepository repository = new GenericResourceRepository(locator);
+		repository.setResourceLoader(new ResourceLoader() {
+			@Override
+			public Resource getResource(String location) {
+				lookups.incrementAndGet();
+				return resourceLoader.getResource(location);
+			}
+
+			@Override
+			public ClassLoader getClassLoader() {
+				return resourceLoader.getClassLoader();
+			}
+		});
+
+		Resource resource = repository.findOne("blah", "local", "master", "foo.txt");
+		assertThat(repository.findOne("blah", "local", "master", "foo.txt")).isSameAs(resource);
+		assertThat(lookups).hasValue(1);
+		assertThat(repository.findOne("blah", "local", "master", "foo.txt")).isEqualTo(resource);
+		assertThat(lookups).hasValue(2);
+	}
+
+	@Test
+	public void nativeResourcesWithVersionAreResolvedAgain(@TempDir Path directory) throws IOException {
+		Files.writeString(directory.resolve("app.yml"), "foo: bar");
+		this.nativeRepository.setSearchLocations(directory.toUri().toString());
+		this.nativeRepository.setVersion("1.0");
+		GenericResourceRepository repository = new GenericResourceRepository(this.nativeRepository);
+		repository.setResourceLoader(new DefaultResourceLoader());
+
+		assertThat(repository.findOne("app", "prod", "master", "app.yml").getFilename()).isEqualTo("app.yml");
+		Files.writeString(directory.resolve("app-prod.yml"), "foo: prod");
+		assertThat(repository.findOne("app", "prod", "master", "app.yml").getFilename()).isEqualTo("app-prod.yml");
+		Files.delete(directory.resolve("app-prod.yml"));
+		assertThat(repository.findOne("app", "prod", "master", "app.yml").getFilename()).isEqualTo("app.yml");
+	}
+
+	@Test
+	public void callbackReceivesResourceAndVersion() throws IOException {
+		SearchPathLocator locator = (application, profile, label) -> new Locations(application, profile, label, "v1",
+				new String[] { "classpath:/test/local/" }, true);
+		GenericResourceRepository repository = new GenericResourceRepository(locator);
+		repository.setResourceLoader(new DefaultResourceLoader());
+
+		String located = repository.findOne("blah", "local", "master", "foo.txt",
+				(resource, version) -> resource.getFilename() + "@" + version);
+		assertThat(located).isEqualTo("foo.txt@v1");
+	}
+
+	@Test
+	public void callbackReceivesNoVersionUnlessItIsACommit() throws IOException {
+		SearchPathLocator locator = (application, profile, label) -> new Locations(application, profile, label, "1.0",
+				new String[] { "classpath:/test/local/" });
+		GenericResourceRepository repository = new GenericResourceRepository(locator);
+		repository.setResourceLoader(new DefaultResourceLoader());
+
+		String located = repository.findOne("blah", "local", "master", "foo.txt",
+				(resource, version) -> resource.getFilename() + "@" + version);
+		assertThat(located).isEqualTo("foo.txt@null");
+	}
+
 }
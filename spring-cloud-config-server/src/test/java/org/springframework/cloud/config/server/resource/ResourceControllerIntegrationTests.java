@@ -193,7 +193,7 @@ public class ResourceControllerIntegrationTests {
 
 		@Bean
 		public ResourceRepository resourceRepository() {
-			ResourceRepository repository = Mockito.mock(ResourceRepository.class);
+			ResourceRepository repository = Mockito.mock(ResourceRepository.class, Mockito.CALLS_REAL_METHODS);
 			return repository;
 		}
 
@@ -16,26 +16,49 @@
 
 package org.springframework.cloud.config.server.resource;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.encryption.ResourceEncryptor;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
 import org.springframework.cloud.config.server.environment.InvalidEnvironmentRequestException;
 import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
 import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
 import org.springframework.cloud.config.server.environment.NativeEnvironmentRepositoryTests;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -369,10 +392,196 @@ public class ResourceControllerTests {
 		MockHttpServletRequest request = new MockHttpServletRequest();
 		ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
 		request.setRequestURI("/foo/bar/dev/" + "spam/foo.txt");
-		byte[] resource = this.controller.binary("foo", "bar", "dev", webRequest);
+		byte[] resource = content(this.controller.binary("foo", "bar", "dev", webRequest));
 		assertThat(new String(resource)).isEqualToIgnoringNewLines("foo: dev_bar/spam");
 	}
 
+	@Test
+	public void binaryIsStreamedWithLength() throws Exception {
+		this.environmentRepository.setSearchLocations("classpath:/test");
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+		request.setRequestURI("/foo/bar/dev/" + "spam/foo.txt");
+		ResponseEntity<StreamingResponseBody> response = this.controller.binary("foo", "bar", "dev", webRequest);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+		byte[] resource = content(response);
+		assertThat(response.getHeaders().getContentLength()).isEqualTo(resource.length);
+		assertThat(new String(resource)).isEqualToIgnoringNewLines("foo: dev_bar/spam");
+	}
+
+	@Test
+	public void binaryHasContentETag() throws Exception {
+		this.environmentRepository.setSearchLocations("classpath:/test");
+		ResponseEntity<StreamingResponseBody> response = this.controller.binary("foo", "bar", "dev",
+				binaryRequest(null, null));
+		String eTag = response.getHeaders().getETag();
+		assertThat(eTag).startsWith("\"");
+		assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+
+		ServletWebRequest webRequest = binaryRequest(eTag, null);
+		assertThat(this.controller.binary("foo", "bar", "dev", webRequest)).isNull();
+		assertThat(((MockHttpServletResponse) webRequest.getResponse()).getStatus())
+			.isEqualTo(HttpStatus.NOT_MODIFIED.value());
+	}
+
+	@Test
+	public void binaryRange() throws Exception {
+		this.environmentRepository.setSearchLocations("classpath:/test");
+		byte[] full = content(this.controller.binary("foo", "bar", "dev", binaryRequest(null, null)));
+
+		ResponseEntity<StreamingResponseBody> response = this.controller.binary("foo", "bar", "dev",
+				binaryRequest(null, "bytes=1-3"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+			.isEqualTo("bytes 1-3/" + full.length);
+		assertThat(content(response)).isEqualTo(Arrays.copyOfRange(full, 1, 4));
+
+		response = this.controller.binary("foo", "bar", "dev", binaryRequest(null, "bytes=" + full.length + "-"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + full.length);
+	}
+
+	@Test
+	public void binaryETagIsComputedOncePerVersionAndFile(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("foo.txt");
+		Files.writeString(file, "one");
+		AtomicReference<String> version = new AtomicReference<>("v1");
+		ResourceRepository resources = new ResourceRepository() {
+			@Override
+			public Resource findOne(String name, String profile, String label, String path) {
+				return new FileSystemResource(file);
+			}
+
+			@Override
+			public <T> T findOne(String name, String profile, String label, String path, ResourceCallback<T> callback)
+					throws IOException {
+				return callback.doWithResource(findOne(name, profile, label, path), version.get());
+			}
+		};
+		EnvironmentRepository environments = mock(EnvironmentRepository.class);
+		when(environments.findOne("foo", "bar", "dev")).thenReturn(environment("v1", "one"));
+		ResourceController controller = new ResourceController(resources, environments, this.resourceEncryptorMap);
+		String eTag = controller.binary("foo", "bar", "dev", binaryRequest(null, null)).getHeaders().getETag();
+
+		// the content of a commit does not change, so its hash is not computed again
+		Files.writeString(file, "two");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+		assertThat(controller.binary("foo", "bar", "dev", binaryRequest(null, null)).getHeaders().getETag())
+			.isEqualTo(eTag);
+
+		version.set(null);
+		assertThat(controller.binary("foo", "bar", "dev", binaryRequest(null, null)).getHeaders().getETag())
+			.isNotEqualTo(eTag);
+	}
+
+	@Test
+	public void binaryETagChangesWhenFileOfNativeVersionIsEdited(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("spam").resolve("foo.txt");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, "one");
+		this.environmentRepository.setSearchLocations(directory.toUri().toString());
+		this.environmentRepository.setVersion("1.0");
+		String eTag = this.controller.binary("foo", "bar", "dev", binaryRequest(null, null)).getHeaders().getETag();
+
+		Files.writeString(file, "two!");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+		ResponseEntity<StreamingResponseBody> response = this.controller.binary("foo", "bar", "dev",
+				binaryRequest(eTag, null));
+		assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+		assertThat(new String(content(response))).isEqualTo("two!");
+	}
+
+	@Test
+	public void renderedTextIsCachedPerVersion() throws Exception {
+		AtomicInteger reads = new AtomicInteger();
+		ResourceRepository resources = versionedResources(reads, "v1", "v1", "v2");
+		EnvironmentRepository environments = mock(EnvironmentRepository.class);
+		when(environments.findOne("foo", "bar", "dev", false)).thenReturn(environment("v1", "one"))
+			.thenReturn(environment("v2", "two"));
+		ResourceController controller = new ResourceController(resources, environments, this.resourceEncryptorMap);
+		controller.setPlainTextCacheSize(10);
+
+		assertThat(controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: one");
+		assertThat(controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: one");
+		assertThat(reads).hasValue(1);
+		assertThat(controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: two");
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	public void renderedTextIsNotCachedWhenEnvironmentHasAnotherVersion() throws Exception {
+		AtomicInteger reads = new AtomicInteger();
+		ResourceRepository resources = versionedResources(reads, "v1", "v1");
+		EnvironmentRepository environments = mock(EnvironmentRepository.class);
+		when(environments.findOne("foo", "bar", "dev", false)).thenReturn(environment("v2", "two"))
+			.thenReturn(environment("v1", "one"));
+		ResourceController controller = new ResourceController(resources, environments, this.resourceEncryptorMap);
+		controller.setPlainTextCacheSize(10);
+
+		assertThat(controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: two");
+		assertThat(controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: one");
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	public void renderedTextOfNativeVersionIsNotCached(@TempDir Path directory) throws Exception {
+		Files.writeString(directory.resolve("foo.txt"), "foo: ${foo}");
+		Files.writeString(directory.resolve("application.yml"), "foo: one");
+		this.environmentRepository.setSearchLocations(directory.toUri().toString());
+		this.environmentRepository.setVersion("1.0");
+		this.controller.setPlainTextCacheSize(10);
+
+		assertThat(this.controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: one");
+		Files.writeString(directory.resolve("application.yml"), "foo: two");
+		assertThat(this.controller.retrieve("foo", "bar", "dev", "foo.txt", true, "UTF-8")).isEqualTo("foo: two");
+	}
+
+	private ResourceRepository versionedResources(AtomicInteger reads, String... versions) {
+		Resource resource = new ByteArrayResource("foo: ${foo}".getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public InputStream getInputStream() throws IOException {
+				reads.incrementAndGet();
+				return super.getInputStream();
+			}
+		};
+		AtomicInteger lookups = new AtomicInteger();
+		return new ResourceRepository() {
+			@Override
+			public Resource findOne(String name, String profile, String label, String path) {
+				return resource;
+			}
+
+			@Override
+			public <T> T findOne(String name, String profile, String label, String path, ResourceCallback<T> callback)
+					throws IOException {
+				return callback.doWithResource(resource, versions[lookups.getAndIncrement()]);
+			}
+		};
+	}
+
+	private Environment environment(String version, String value) {
+		Environment environment = new Environment("foo", new String[] { "bar" }, "dev", version, null);
+		environment.add(new PropertySource("one", Collections.singletonMap("foo", value)));
+		return environment;
+	}
+
+	private ServletWebRequest binaryRequest(String ifNoneMatch, String range) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar/dev/" + "spam/foo.txt");
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		if (range != null) {
+			request.addHeader(HttpHeaders.RANGE, range);
+		}
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+
+	private byte[] content(ResponseEntity<StreamingResponseBody> response) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		response.getBody().writeTo(output);
+		return output.toByteArray();
+	}
+
 	private String replaceNewLines(String text) {
 		return text.replace("\r", "").replace("\n", "").replace("\t", "");
 	}
@@ -383,7 +592,7 @@ public class ResourceControllerTests {
 		MockHttpServletRequest request = new MockHttpServletRequest();
 		ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
 		request.setRequestURI("/dev/spam/bar/" + "foo.txt");
-		byte[] resource = this.controller.binary("dev/spam", "bar", null, webRequest);
+		byte[] resource = content(this.controller.binary("dev/spam", "bar", null, webRequest));
 		assertThat(new String(resource)).isEqualToIgnoringNewLines("foo: dev_bar/spam");
 	}
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.config.server.support;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentTaskRunnerTests {
+
+	private final ConcurrentTaskRunner runner = new ConcurrentTaskRunner("test-", 4);
+
+	@AfterEach
+	public void close() {
+		this.runner.destroy();
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void resultsKeepTaskOrderAndSeeRequestAttributes() {
+		RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(attributes);
+		List<Callable<String>> tasks = List.of(() -> {
+			Thread.sleep(50);
+			return "one";
+		}, () -> "two", () -> RequestContextHolder.getRequestAttributes() == attributes ? "three" : "none");
+
+		assertThat(this.runner.invokeAll(tasks)).containsExactly("one", "two", "three");
+	}
+
+	@Test
+	public void failureIsRethrown() {
+		List<Callable<String>> tasks = List.of(() -> "one", () -> {
+			throw new IllegalArgumentException("planned");
+		});
+
+		assertThatThrownBy(() -> this.runner.invokeAll(tasks)).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("planned");
+	}
+
+	@Test
+	public void destroyShutsDownThePool() {
+		this.runner.destroy();
+
+		assertThatThrownBy(() -> this.runner.execute(() -> {
+		})).isInstanceOf(RejectedExecutionException.class);
+	}
+
+}
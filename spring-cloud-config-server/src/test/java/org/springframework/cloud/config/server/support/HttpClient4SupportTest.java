@@ -26,6 +26,7 @@ import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -67,6 +68,35 @@ public class HttpClient4SupportTest {
 		}).isInstanceOf(SocketTimeoutException.class);
 	}
 
+	@Test
+	public void unconsumedResponseReleasesPooledConnection() throws GeneralSecurityException, IOException {
+		JGitEnvironmentProperties properties = new JGitEnvironmentProperties();
+		properties.setTimeout(1);
+		properties.setMaxConnectionsPerRoute(1);
+		try (CloseableHttpClient httpClient = HttpClient4Support.builder(properties).build()) {
+			for (int i = 0; i < 2; i++) {
+				try (CloseableHttpResponse response = httpClient.execute(new HttpGet(
+						String.format("http://127.0.0.1:%s/test/content", this.localServerPort)))) {
+					Assertions.assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void waitsForPooledConnectionAtMostTimeout() throws GeneralSecurityException, IOException {
+		JGitEnvironmentProperties properties = new JGitEnvironmentProperties();
+		properties.setTimeout(1);
+		properties.setMaxConnectionsPerRoute(1);
+		try (CloseableHttpClient httpClient = HttpClient4Support.builder(properties).build()) {
+			HttpGet request = new HttpGet(String.format("http://127.0.0.1:%s/test/content", this.localServerPort));
+			try (CloseableHttpResponse response = httpClient.execute(request)) {
+				Assertions.assertThatThrownBy(() -> httpClient.execute(request))
+					.isInstanceOf(ConnectionPoolTimeoutException.class);
+			}
+		}
+	}
+
 	@Test
 	@EnabledOnJre(JRE.JAVA_8)
 	public void httpsProxy() throws GeneralSecurityException, IOException {
@@ -115,6 +145,11 @@ public class HttpClient4SupportTest {
 			Thread.sleep(2000);
 		}
 
+		@GetMapping("/test/content")
+		public String testContent() {
+			return "content";
+		}
+
 	}
 
 }